@@ -0,0 +1,107 @@
+package com.java.coreTemplate.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.java.coreTemplate.utility.invalidation.BroadcastingCacheManager;
+import com.java.coreTemplate.utility.invalidation.CacheInvalidationBus;
+import com.java.coreTemplate.utility.invalidation.InProcessInvalidationTransport;
+import com.java.coreTemplate.utility.invalidation.InvalidationTransport;
+import com.java.coreTemplate.utility.invalidation.PostgresNotifyTransport;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Bounded, TTL'd Caffeine caches for repository queries. Each cache can be tuned with
+ * {@code app.cache.spec.<cache-name>} using Caffeine spec syntax. Stats are always
+ * recorded, so the actuator publishes {@code cache.gets} with hit/miss tags and the
+ * hit ratio can be derived per cache.
+ * <p>
+ * Puts and evictions made inside a transaction are applied after it commits, so a
+ * rolled-back write never leaves its value in a cache.
+ * <p>
+ * Every eviction and clear is also announced to the other nodes through the
+ * {@link CacheInvalidationBus}. The transport is chosen with
+ * {@code app.cache.invalidation.transport}: {@code postgres} uses LISTEN/NOTIFY,
+ * {@code in-process} (the default) only reaches buses in the same JVM, which is all a
+ * single node needs.
+ * <p>
+ * Pure arithmetic is deliberately not cached: boxing the arguments, building a key and
+ * going through the proxy costs more than the computation.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    private static final String DEFAULT_SPEC = "maximumSize=1000,expireAfterWrite=10m";
+
+    private static final Map<String, String> SPECS = Map.of(
+            CacheNames.CALCULATION_BY_ID, "maximumSize=10000,expireAfterWrite=10m",
+            CacheNames.CALCULATIONS_ACTIVE, "maximumSize=1,expireAfterWrite=1m",
+            CacheNames.CALCULATIONS_BY_OPERATION_TYPE, "maximumSize=16,expireAfterWrite=1m",
+            CacheNames.ADMINISTRATION_MODULE_BY_ID, "maximumSize=1000,expireAfterWrite=10m",
+            CacheNames.ADMINISTRATION_MODULES_COUNT, "maximumSize=1,expireAfterWrite=10m"
+    );
+
+    // LISTEN holds its connection for good, so it is opened outside the Hikari pool and
+    // every pooled connection stays available to requests
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.invalidation.transport", havingValue = "postgres")
+    public InvalidationTransport postgresInvalidationTransport(
+            DataSource dataSource,
+            DataSourceProperties dataSourceProperties,
+            @Value("${app.cache.invalidation.channel:cache_invalidation}") String channel,
+            @Value("${app.cache.invalidation.poll-timeout-ms:5000}") int pollTimeoutMs,
+            @Value("${app.cache.invalidation.reconnect-delay-ms:5000}") long reconnectDelayMs) {
+        DataSource listenDataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(SimpleDriverDataSource.class)
+                .build();
+        return new PostgresNotifyTransport(dataSource, listenDataSource, channel, pollTimeoutMs, reconnectDelayMs);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.invalidation.transport", havingValue = "in-process", matchIfMissing = true)
+    public InvalidationTransport inProcessInvalidationTransport() {
+        return new InProcessInvalidationTransport();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CacheInvalidationBus cacheInvalidationBus(
+            InvalidationTransport transport,
+            MeterRegistry meterRegistry,
+            Environment environment,
+            @Value("${app.cache.invalidation.coalesce-ms:50}") long coalesceMs,
+            @Value("${app.cache.invalidation.max-keys-per-cache:256}") int maxKeysPerCache,
+            @Value("${app.cache.invalidation.max-message-length:7000}") int maxMessageLength) {
+        CacheInvalidationBus bus = new CacheInvalidationBus(transport, localCacheManager(environment),
+                meterRegistry, coalesceMs, maxKeysPerCache, maxMessageLength);
+        bus.start();
+        return bus;
+    }
+
+    @Bean
+    public CacheManager cacheManager(CacheInvalidationBus bus) {
+        return new BroadcastingCacheManager(bus.getLocalCaches(), bus);
+    }
+
+    private CacheManager localCacheManager(Environment environment) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Caches without an explicit spec are still bounded
+        cacheManager.setCaffeine(Caffeine.from(DEFAULT_SPEC).recordStats());
+        SPECS.forEach((name, defaultSpec) -> {
+            String spec = environment.getProperty("app.cache.spec." + name, defaultSpec);
+            cacheManager.registerCustomCache(name, Caffeine.from(spec).recordStats().build());
+        });
+        return cacheManager;
+    }
+}
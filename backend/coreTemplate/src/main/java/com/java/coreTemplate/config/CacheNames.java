@@ -0,0 +1,16 @@
+package com.java.coreTemplate.config;
+
+/**
+ * One cache per query shape, so each can have its own size and TTL and a write
+ * only has to evict the caches it can actually make stale.
+ */
+public final class CacheNames {
+    public static final String CALCULATION_BY_ID = "calculations.byId";
+    public static final String CALCULATIONS_ACTIVE = "calculations.active";
+    public static final String CALCULATIONS_BY_OPERATION_TYPE = "calculations.byOperationType";
+    public static final String ADMINISTRATION_MODULE_BY_ID = "administrationModules.byId";
+    public static final String ADMINISTRATION_MODULES_COUNT = "administrationModules.count";
+
+    private CacheNames() {
+    }
+}
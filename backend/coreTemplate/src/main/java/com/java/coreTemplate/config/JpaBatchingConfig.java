@@ -0,0 +1,42 @@
+package com.java.coreTemplate.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryBuilderCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Groups INSERTs and UPDATEs into JDBC batches of {@code app.jpa.batch-size}. Statements
+ * are ordered by entity so consecutive ones can share a batch, and versioned rows are
+ * batched too. Explicit {@code spring.jpa.properties.hibernate.*} settings win.
+ * <p>
+ * Administration module ids are IDENTITY by default, which makes Hibernate insert those
+ * rows one at a time. With {@code app.admin-modules.sequence-ids=true} they come from a
+ * pooled sequence instead, 50 per round trip, so bulk creates are batched as well. Run
+ * {@code db/administration-module-sequence-ids.sql} before turning it on.
+ */
+@Configuration
+public class JpaBatchingConfig {
+
+    private static final String SEQUENCE_IDS_MAPPING = "META-INF/administration-module-sequence-ids.xml";
+
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchingCustomizer(@Value("${app.jpa.batch-size:50}") int batchSize) {
+        return properties -> {
+            properties.putIfAbsent(AvailableSettings.STATEMENT_BATCH_SIZE, batchSize);
+            properties.putIfAbsent(AvailableSettings.ORDER_INSERTS, true);
+            properties.putIfAbsent(AvailableSettings.ORDER_UPDATES, true);
+            properties.putIfAbsent(AvailableSettings.BATCH_VERSIONED_DATA, true);
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.admin-modules.sequence-ids", havingValue = "true")
+    public EntityManagerFactoryBuilderCustomizer sequenceIdsCustomizer() {
+        return builder -> builder.setPersistenceUnitPostProcessors(
+                unit -> unit.addMappingFileName(SEQUENCE_IDS_MAPPING));
+    }
+}
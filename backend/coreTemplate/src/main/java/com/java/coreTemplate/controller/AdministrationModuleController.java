@@ -1,23 +1,38 @@
 package com.java.coreTemplate.controller;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.web.PageableDefault;
+import com.java.coreTemplate.service.AdministrationModuleSearch;
 import com.java.coreTemplate.service.AdministrationModuleService;
 import com.java.coreTemplate.model.dto.AdministrationModule;
+import com.java.coreTemplate.model.dto.BulkActivationRequest;
+import com.java.coreTemplate.model.dto.BulkItemResult;
+import com.java.coreTemplate.model.dto.CursorPage;
+import com.java.coreTemplate.model.dto.ModuleSearchHit;
+import com.java.coreTemplate.model.dto.RankedPage;
+import jakarta.persistence.PersistenceException;
 import jakarta.validation.Valid;
 
+import java.util.List;
+import java.util.function.Supplier;
+
 @RestController
 @RequestMapping("/api/v1/administration-modules")
 public class AdministrationModuleController {
     
     private final AdministrationModuleService service;
+    private final AdministrationModuleSearch search;
+    private final int maxBulkSize;
     
-    public AdministrationModuleController(AdministrationModuleService service) {
+    public AdministrationModuleController(AdministrationModuleService service,
+                                          AdministrationModuleSearch search,
+                                          @Value("${app.admin-modules.bulk.max-size:1000}") int maxBulkSize) {
         this.service = service;
+        this.search = search;
+        this.maxBulkSize = maxBulkSize;
     }
     
     @PostMapping
@@ -34,22 +49,23 @@ public class AdministrationModuleController {
     }
     
     @GetMapping
-    public ResponseEntity<Page<AdministrationModule>> getAll(
-            @PageableDefault(size = 20, sort = "id") Pageable pageable) {
-        Page<AdministrationModule> modules = service.findAll(pageable);
-        return ResponseEntity.ok(modules);
+    public ResponseEntity<CursorPage<AdministrationModule>> getAll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return cursorPage(null, cursor, size);
     }
     
     @PutMapping("/{id}")
     public ResponseEntity<AdministrationModule> update(
             @PathVariable Long id, 
             @Valid @RequestBody AdministrationModule entity) {
-        if (!service.existsById(id)) {
-            return ResponseEntity.notFound().build();
+        try {
+            return service.update(id, entity)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         }
-        entity.setId(id);
-        AdministrationModule updatedEntity = service.save(entity);
-        return ResponseEntity.ok(updatedEntity);
     }
     
     @PatchMapping("/{id}")
@@ -70,12 +86,100 @@ public class AdministrationModuleController {
         return ResponseEntity.noContent().build();
     }
     
+    // Served from the in-memory registry, no database round trip
+    @GetMapping("/active")
+    public ResponseEntity<List<AdministrationModule>> getActive() {
+        return ResponseEntity.ok(service.findAllActive());
+    }
+
+    @GetMapping("/by-name/{name}")
+    public ResponseEntity<AdministrationModule> getByName(@PathVariable String name) {
+        return service.findByName(name)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/by-type/{type}")
+    public ResponseEntity<List<AdministrationModule>> getByType(@PathVariable String type) {
+        return ResponseEntity.ok(service.findByType(type));
+    }
+
+    /**
+     * Bulk endpoints return one result per item, in request order, so callers can tell
+     * which items were written and why the others were not.
+     */
+    // A failing INSERT rolls back the whole request, so no item is reported as created
+    @PostMapping("/bulk")
+    public ResponseEntity<List<BulkItemResult>> createAll(@RequestBody List<AdministrationModule> modules) {
+        try {
+            return bulk(modules, () -> service.createAll(modules));
+        } catch (PersistenceException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .header("X-Error-Message", "No modules were created: the insert failed")
+                    .build();
+        }
+    }
+
+    @PutMapping("/bulk")
+    public ResponseEntity<List<BulkItemResult>> updateAll(@RequestBody List<AdministrationModule> modules) {
+        return bulk(modules, () -> service.updateAll(modules));
+    }
+
+    @PatchMapping("/bulk/active")
+    public ResponseEntity<List<BulkItemResult>> updateActiveStatus(@RequestBody BulkActivationRequest request) {
+        return bulk(request.getIds(), () -> service.updateActiveStatus(request.getIds(), request.isActive()));
+    }
+
+    @GetMapping("/by-ids")
+    public ResponseEntity<List<AdministrationModule>> getByIds(@RequestParam List<Long> ids) {
+        if (ids.size() > maxBulkSize) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+        return ResponseEntity.ok(ids.isEmpty() ? List.of() : service.findAllById(ids));
+    }
+
     @GetMapping("/search")
-    public ResponseEntity<Page<AdministrationModule>> search(
+    public ResponseEntity<CursorPage<AdministrationModule>> search(
             @RequestParam(required = false) String name,
-            @RequestParam(required = false) String code,
-            @PageableDefault(size = 20) Pageable pageable) {
-        Page<AdministrationModule> results = service.search(name, code, pageable);
-        return ResponseEntity.ok(results);
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return cursorPage(name, cursor, size);
+    }
+
+    // Relevance-ranked typeahead search over name and description
+    @GetMapping("/search/ranked")
+    public ResponseEntity<RankedPage<ModuleSearchHit>> searchRanked(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(search.search(q, page, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .header("X-Error-Message", e.getMessage())
+                    .build();
+        }
+    }
+
+    private ResponseEntity<List<BulkItemResult>> bulk(List<?> items, Supplier<List<BulkItemResult>> write) {
+        if (items == null || items.isEmpty()) {
+            return ResponseEntity.badRequest()
+                    .header("X-Error-Message", "At least one item is required")
+                    .build();
+        }
+        if (items.size() > maxBulkSize) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+        return ResponseEntity.ok(write.get());
+    }
+
+    private ResponseEntity<CursorPage<AdministrationModule>> cursorPage(String name, String cursor, int size) {
+        try {
+            return ResponseEntity.ok(service.findPage(name, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .header("X-Error-Message", e.getMessage())
+                    .build();
+        }
     }
 }
\ No newline at end of file
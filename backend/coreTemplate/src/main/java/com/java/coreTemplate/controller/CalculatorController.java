@@ -1,20 +1,47 @@
 package com.java.coreTemplate.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.web.PageableDefault;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import com.java.coreTemplate.service.CalculatorService;
+import com.java.coreTemplate.model.dto.CalculationBatch;
+import com.java.coreTemplate.model.dto.CalculationBatchRequest;
+import com.java.coreTemplate.model.dto.CalculationError;
 import com.java.coreTemplate.model.dto.Calculator;
+import com.java.coreTemplate.model.dto.CalculatorMemory;
+import com.java.coreTemplate.model.dto.CursorPage;
+import com.java.coreTemplate.model.dto.ExpressionRequest;
+import com.java.coreTemplate.model.dto.ExpressionResult;
+import com.java.coreTemplate.utility.CalculationExportWriter;
+import com.java.coreTemplate.utility.expression.ExpressionException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/v1/calculator")
 public class CalculatorController {
     private final CalculatorService service;
+    private final ObjectMapper objectMapper;
+    private final int maxBatchSize;
 
-    public CalculatorController(CalculatorService service) {
+    public CalculatorController(CalculatorService service,
+                                ObjectMapper objectMapper,
+                                @Value("${app.calculator.batch.max-size:10000}") int maxBatchSize) {
         this.service = service;
+        this.objectMapper = objectMapper;
+        this.maxBatchSize = maxBatchSize;
     }
 
     @PostMapping
@@ -31,9 +58,10 @@ public class CalculatorController {
     }
 
     @GetMapping
-    public ResponseEntity<Page<Calculator>> getAll(
-            @PageableDefault(size = 20, sort = "id") Pageable pageable) {
-        return ResponseEntity.ok(service.findAll(pageable));
+    public ResponseEntity<CursorPage<Calculator>> getAll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return cursorPage(() -> service.getCalculationHistory(cursor, size));
     }
 
     @PutMapping("/{id}")
@@ -56,6 +84,55 @@ public class CalculatorController {
         return ResponseEntity.noContent().build();
     }
 
+    // Memory and touch requests are accepted immediately and written in the next batch
+    @PostMapping("/{id}/touch")
+    public ResponseEntity<Void> touch(@PathVariable Long id) {
+        if (service.findById(id).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        service.touch(id);
+        return ResponseEntity.accepted().build();
+    }
+
+    @GetMapping("/{id}/memory")
+    public ResponseEntity<CalculatorMemory> recallMemory(@PathVariable Long id) {
+        return service.findById(id)
+                .map(calculator -> ResponseEntity.ok(new CalculatorMemory(service.recallMemory(calculator))))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PutMapping("/{id}/memory")
+    public ResponseEntity<Void> storeMemory(@PathVariable Long id, @RequestBody CalculatorMemory memory) {
+        if (service.findById(id).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        service.storeMemory(id, memory.getValue());
+        return ResponseEntity.accepted().build();
+    }
+
+    @PostMapping("/{id}/memory/add")
+    public ResponseEntity<Void> addToMemory(@PathVariable Long id, @RequestBody CalculatorMemory memory) {
+        if (memory.getValue() == null || !Double.isFinite(memory.getValue())) {
+            return ResponseEntity.badRequest()
+                    .header("X-Error-Message", "A finite value is required")
+                    .build();
+        }
+        if (service.findById(id).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        service.addToMemory(id, memory.getValue());
+        return ResponseEntity.accepted().build();
+    }
+
+    @DeleteMapping("/{id}/memory")
+    public ResponseEntity<Void> clearMemory(@PathVariable Long id) {
+        if (service.findById(id).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        service.clearMemory(id);
+        return ResponseEntity.accepted().build();
+    }
+
     @PostMapping("/add")
     public ResponseEntity<Calculator> add(@RequestBody CalculatorRequest request) {
         double result = service.add(request.getOperand1(), request.getOperand2());
@@ -84,10 +161,95 @@ public class CalculatorController {
         }
     }
 
+    @PostMapping("/evaluate")
+    public ResponseEntity<ExpressionResult> evaluate(@RequestBody ExpressionRequest request) {
+        try {
+            double result = service.evaluate(request.getExpression(), request.getVariables());
+            return ResponseEntity.ok(new ExpressionResult(request.getExpression(), result));
+        } catch (ExpressionException | ArithmeticException e) {
+            return ResponseEntity.badRequest()
+                    .header("X-Error-Message", e.getMessage())
+                    .build();
+        }
+    }
+
+    /**
+     * Evaluates many operations in one call. Results are streamed back in request order
+     * as {@code {"index":0,"result":3.0}} or {@code {"index":1,"error":"DIVISION_BY_ZERO"}}.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<StreamingResponseBody> batch(@RequestBody CalculationBatchRequest request) {
+        if (request.getOperations() == null || request.getOperations().isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (request.getOperations().size() > maxBatchSize) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+
+        CalculationBatch batch = service.evaluate(CalculationBatch.from(request.getOperations()));
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                double[] results = batch.getResults();
+                CalculationError[] errors = batch.getErrors();
+                generator.writeStartArray();
+                for (int i = 0; i < batch.size(); i++) {
+                    generator.writeStartObject();
+                    generator.writeNumberField("index", i);
+                    if (errors[i] == null) {
+                        generator.writeNumberField("result", results[i]);
+                    } else {
+                        generator.writeStringField("error", errors[i].name());
+                    }
+                    generator.writeEndObject();
+                }
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    // Kept for existing clients: the same listing as getAll, with a smaller default page
     @GetMapping("/history")
-    public ResponseEntity<Page<Calculator>> getCalculationHistory(
-            @PageableDefault(size = 10, sort = "timestamp") Pageable pageable) {
-        return ResponseEntity.ok(service.getCalculationHistory(pageable));
+    public ResponseEntity<CursorPage<Calculator>> getCalculationHistory(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return getAll(cursor, size);
+    }
+
+    /**
+     * Exports history created in [from, to] as NDJSON (default) or CSV. The response is
+     * written while rows are read, so large ranges do not have to fit in memory.
+     */
+    @GetMapping("/export")
+    public void export(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response) throws IOException {
+        CalculationExportWriter.Format exportFormat;
+        try {
+            exportFormat = CalculationExportWriter.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "Unsupported format: " + format);
+            return;
+        }
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"calculations." + exportFormat.getExtension() + "\"");
+        service.exportHistory(from, to, exportFormat, response.getOutputStream());
+    }
+
+    private static <T> ResponseEntity<CursorPage<T>> cursorPage(Supplier<CursorPage<T>> query) {
+        try {
+            return ResponseEntity.ok(query.get());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .header("X-Error-Message", e.getMessage())
+                    .build();
+        }
     }
 }
 
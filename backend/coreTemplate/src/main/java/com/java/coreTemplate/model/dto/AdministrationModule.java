@@ -7,7 +7,9 @@ import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Entity
-@Table(name = "administration_module")
+@Table(name = "administration_module", indexes = {
+        @Index(name = "idx_administration_module_created_at_id", columnList = "created_at, id")
+})
 @Getter
 @Setter
 @ToString
@@ -15,6 +17,8 @@ import java.util.Optional;
 @AllArgsConstructor
 public class AdministrationModule {
 
+    // IDENTITY disables insert batching; app.admin-modules.sequence-ids switches this to a
+    // pooled sequence, see JpaBatchingConfig
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -31,7 +35,7 @@ public class AdministrationModule {
     @Column(name = "is_system_module")
     private boolean isSystemModule;
 
-    @Column(name = "created_at", updatable = false)
+    @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
     @Column(name = "last_modified_at")
@@ -40,6 +44,9 @@ public class AdministrationModule {
     @Column(name = "access_level", length = 50)
     private String accessLevel;
 
+    @Column(name = "module_type", length = 50)
+    private String type;
+
     @Version
     private Long version;
 
@@ -0,0 +1,14 @@
+package com.java.coreTemplate.model.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkActivationRequest {
+    private List<Long> ids;
+    private boolean active;
+}
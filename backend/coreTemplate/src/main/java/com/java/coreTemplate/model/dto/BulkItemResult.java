@@ -0,0 +1,34 @@
+package com.java.coreTemplate.model.dto;
+
+import lombok.*;
+
+/**
+ * Outcome of one item of a bulk request, identified by its position in the request.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkItemResult {
+
+    public enum Status {
+        CREATED,
+        UPDATED,
+        NOT_FOUND,
+        CONFLICT,
+        INVALID
+    }
+
+    private int index;
+    private Long id;
+    private Status status;
+    private String error;
+
+    public static BulkItemResult success(int index, Long id, Status status) {
+        return new BulkItemResult(index, id, status, null);
+    }
+
+    public static BulkItemResult failure(int index, Long id, Status status, String error) {
+        return new BulkItemResult(index, id, status, error);
+    }
+}
@@ -0,0 +1,50 @@
+package com.java.coreTemplate.model.dto;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Column-oriented batch of binary operations. Inputs and results are primitive arrays
+ * so the whole batch is evaluated in one loop without boxing; an item either has a
+ * result or an entry in {@link #getErrors()}.
+ */
+@Getter
+public class CalculationBatch {
+    private final CalculatorOperation[] operations;
+    private final double[] operand1;
+    private final double[] operand2;
+    private final double[] results;
+    private final CalculationError[] errors;
+
+    public CalculationBatch(int size) {
+        this.operations = new CalculatorOperation[size];
+        this.operand1 = new double[size];
+        this.operand2 = new double[size];
+        this.results = new double[size];
+        this.errors = new CalculationError[size];
+    }
+
+    /**
+     * Copies the request items into columns. A null item or one without an operation name
+     * is recorded as {@link CalculationError#INVALID_OPERATION} instead of failing the batch.
+     */
+    public static CalculationBatch from(List<CalculationBatchRequest.Item> items) {
+        CalculationBatch batch = new CalculationBatch(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            CalculationBatchRequest.Item item = items.get(i);
+            if (item == null || item.getOperation() == null) {
+                batch.errors[i] = CalculationError.INVALID_OPERATION;
+                continue;
+            }
+            batch.operations[i] = CalculatorOperation.fromName(item.getOperation());
+            batch.operand1[i] = item.getOperand1();
+            batch.operand2[i] = item.getOperand2();
+        }
+        return batch;
+    }
+
+    public int size() {
+        return results.length;
+    }
+}
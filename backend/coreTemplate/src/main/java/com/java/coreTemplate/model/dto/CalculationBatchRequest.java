@@ -0,0 +1,23 @@
+package com.java.coreTemplate.model.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalculationBatchRequest {
+    private List<Item> operations;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private String operation;
+        private double operand1;
+        private double operand2;
+    }
+}
@@ -0,0 +1,9 @@
+package com.java.coreTemplate.model.dto;
+
+public enum CalculationError {
+    // The item or its operation name is missing
+    INVALID_OPERATION,
+    DIVISION_BY_ZERO,
+    UNSUPPORTED_OPERATION,
+    NON_FINITE_RESULT
+}
@@ -4,10 +4,13 @@ import jakarta.persistence.*;
 import lombok.*;
 
 import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Entity
-@Table(name = "calculator")
+@Table(name = "calculator", indexes = {
+        @Index(name = "idx_calculator_created_at_id", columnList = "created_at, id")
+})
 @Getter
 @Setter
 @ToString
@@ -33,9 +36,31 @@ public class Calculator {
     @Column(name = "memory_value")
     private Double memoryValue;
 
+    @Column(name = "operation_type", length = 20)
+    private String operationType;
+
+    @Column(name = "operand1")
+    private Double operand1;
+
+    @Column(name = "operand2")
+    private Double operand2;
+
+    @Column(name = "result")
+    private Double result;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
     @Version
     private Long version;
 
+    @PrePersist
+    protected void onCreate() {
+        if (this.createdAt == null) {
+            this.createdAt = LocalDateTime.now();
+        }
+    }
+
     // Custom getter for Optional field
     public Optional<Double> getMemoryValue() {
         return Optional.ofNullable(memoryValue);
@@ -0,0 +1,11 @@
+package com.java.coreTemplate.model.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalculatorMemory {
+    private Double value;
+}
@@ -0,0 +1,32 @@
+package com.java.coreTemplate.model.dto;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+public enum CalculatorOperation {
+    ADD,
+    SUBTRACT,
+    MULTIPLY,
+    DIVIDE,
+    POWER,
+    PERCENTAGE;
+
+    private static final Map<String, CalculatorOperation> BY_NAME = new HashMap<>();
+
+    static {
+        for (CalculatorOperation operation : values()) {
+            BY_NAME.put(operation.name(), operation);
+            BY_NAME.put(operation.name().toLowerCase(Locale.ROOT), operation);
+        }
+    }
+
+    // Returns null for unknown names so batch callers can report the item instead of failing
+    public static CalculatorOperation fromName(String name) {
+        if (name == null) {
+            return null;
+        }
+        CalculatorOperation operation = BY_NAME.get(name);
+        return operation != null ? operation : BY_NAME.get(name.toLowerCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,19 @@
+package com.java.coreTemplate.model.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. {@code nextCursor} is opaque to clients and
+ * is passed back unchanged to fetch the following page; it is null on the last page.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> content;
+    private String nextCursor;
+    private boolean hasNext;
+}
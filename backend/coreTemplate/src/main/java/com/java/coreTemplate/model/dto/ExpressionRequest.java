@@ -0,0 +1,14 @@
+package com.java.coreTemplate.model.dto;
+
+import lombok.*;
+
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpressionRequest {
+    private String expression;
+    private Map<String, Double> variables;
+}
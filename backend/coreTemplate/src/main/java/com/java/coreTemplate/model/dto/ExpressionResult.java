@@ -0,0 +1,12 @@
+package com.java.coreTemplate.model.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpressionResult {
+    private String expression;
+    private double result;
+}
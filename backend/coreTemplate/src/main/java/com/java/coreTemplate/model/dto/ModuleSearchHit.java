@@ -0,0 +1,15 @@
+package com.java.coreTemplate.model.dto;
+
+import lombok.*;
+
+/**
+ * A module matched by a search, with its relevance; higher scores rank first.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ModuleSearchHit {
+    private AdministrationModule module;
+    private double score;
+}
@@ -0,0 +1,21 @@
+package com.java.coreTemplate.model.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * One page of a relevance-ranked listing. Ranked results have no stable sort key to
+ * build a cursor from, so pages are addressed by number.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RankedPage<T> {
+    private List<T> content;
+    private int page;
+    private int size;
+    private long totalElements;
+    private boolean hasNext;
+}
@@ -1,10 +1,13 @@
 package com.java.coreTemplate.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import com.java.coreTemplate.model.dto.AdministrationModule;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -39,8 +42,70 @@ public interface AdministrationModuleRepository extends
     @Query(value = "SELECT * FROM administration_modules WHERE created_at > CURRENT_DATE - INTERVAL '30 days'", nativeQuery = true)
     List<AdministrationModule> findRecentModules();
     
-    // Update status for multiple modules
-    @Modifying
-    @Query("UPDATE AdministrationModule am SET am.active = :active WHERE am.id IN :ids")
+    // Keyset pagination over (created_at, id), optionally filtered by a name fragment that
+    // the caller has escaped with LikePatterns
+    @Query("SELECT am FROM AdministrationModule am " +
+           "WHERE (:name IS NULL OR LOWER(am.moduleName) LIKE LOWER(CONCAT('%', :name, '%')) ESCAPE '\\') " +
+           "ORDER BY am.createdAt DESC, am.id DESC")
+    List<AdministrationModule> findFirstPage(@Param("name") String name, Pageable limit);
+
+    @Query("SELECT am FROM AdministrationModule am " +
+           "WHERE (:name IS NULL OR LOWER(am.moduleName) LIKE LOWER(CONCAT('%', :name, '%')) ESCAPE '\\') " +
+           "AND (am.createdAt < :createdAt OR (am.createdAt = :createdAt AND am.id < :id)) " +
+           "ORDER BY am.createdAt DESC, am.id DESC")
+    List<AdministrationModule> findPageAfter(
+            @Param("name") String name,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable limit);
+
+    // Ids from the list that exist, for per-item results of bulk operations
+    @Query("SELECT am.id FROM AdministrationModule am WHERE am.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") List<Long> ids);
+
+    // Update status for multiple modules. A bulk update skips entity callbacks and
+    // versioning, so both are done here to keep optimistic locking of concurrent edits.
+    // Rows from before the entity was versioned have a NULL version and start at 1.
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE AdministrationModule am SET am.isActive = :active, am.version = COALESCE(am.version, 0) + 1, " +
+           "am.lastModifiedAt = CURRENT_TIMESTAMP WHERE am.id IN :ids")
     int updateActiveStatus(@Param("ids") List<Long> ids, @Param("active") boolean active);
+
+    // Ranked fuzzy search for the database search path. Needs the pg_trgm extension and
+    // these indexes, without which every branch of the WHERE clause scans the table:
+    //   CREATE EXTENSION IF NOT EXISTS pg_trgm;
+    //   CREATE INDEX idx_administration_module_name_trgm
+    //       ON administration_module USING gin (lower(module_name) gin_trgm_ops);
+    //   CREATE INDEX idx_administration_module_description_trgm
+    //       ON administration_module USING gin (lower(coalesce(description, '')) gin_trgm_ops);
+    //   CREATE INDEX idx_administration_module_name_prefix
+    //       ON administration_module (lower(module_name) text_pattern_ops);
+    // :query is lowercased and :prefix is the escaped query followed by '%'. The <%
+    // operator uses pg_trgm.word_similarity_threshold (0.6 by default).
+    @Query(value = "SELECT id, " + SEARCH_SCORE + " AS score FROM administration_module " + SEARCH_WHERE +
+                   " ORDER BY score DESC, lower(module_name), id LIMIT :limit OFFSET :offset",
+           nativeQuery = true)
+    List<SearchRow> searchRanked(@Param("query") String query,
+                                 @Param("prefix") String prefix,
+                                 @Param("limit") int limit,
+                                 @Param("offset") long offset);
+
+    @Query(value = "SELECT count(*) FROM administration_module " + SEARCH_WHERE, nativeQuery = true)
+    long countSearch(@Param("query") String query, @Param("prefix") String prefix);
+
+    String SEARCH_WHERE = "WHERE :query <% lower(module_name) " +
+                          "OR :query <% lower(coalesce(description, '')) " +
+                          "OR lower(module_name) LIKE :prefix";
+
+    // Same weights as the in-memory NGramIndex
+    String SEARCH_SCORE = "GREATEST(word_similarity(:query, lower(module_name)), " +
+                          "0.5 * word_similarity(:query, lower(coalesce(description, '')))) " +
+                          "+ CASE WHEN lower(module_name) = :query THEN 1.0 " +
+                          "WHEN lower(module_name) LIKE :prefix THEN 0.5 ELSE 0 END";
+
+    // Projection interface for the search query
+    interface SearchRow {
+        Long getId();
+        double getScore();
+    }
 }
\ No newline at end of file
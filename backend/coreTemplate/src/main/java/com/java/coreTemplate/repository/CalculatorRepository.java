@@ -1,13 +1,22 @@
 package com.java.coreTemplate.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.repository.query.Param;
 import com.java.coreTemplate.model.dto.Calculator;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 public interface CalculatorRepository extends JpaRepository<Calculator, Long> {
 
@@ -20,6 +29,18 @@ public interface CalculatorRepository extends JpaRepository<Calculator, Long> {
     // Find calculations performed between two dates
     List<Calculator> findByCreatedAtBetween(LocalDateTime start, LocalDateTime end);
 
+    // Forward-only cursor for exports; must be consumed inside a transaction and closed.
+    // The fetch size makes the PostgreSQL driver read rows in chunks instead of all at once.
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT c FROM Calculator c WHERE c.createdAt BETWEEN :start AND :end ORDER BY c.createdAt, c.id")
+    Stream<Calculator> streamByCreatedAtBetween(
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end);
+
     // Find top 5 most recent calculations
     List<Calculator> findTop5ByOrderByCreatedAtDesc();
 
@@ -42,8 +63,29 @@ public interface CalculatorRepository extends JpaRepository<Calculator, Long> {
             Double operand2, 
             String operationType);
 
-    // Delete calculations older than specified date
-    void deleteByCreatedAtBefore(LocalDateTime date);
+    // Retention purge support. The derived deleteByCreatedAtBefore loaded and deleted every
+    // row one by one in a single transaction; CalculationRetentionService instead deletes
+    // the oldest expired rows in bounded chunks, one short transaction per chunk. The
+    // subquery walks idx_calculator_created_at_id from its start and stops after :limit rows.
+    @Modifying
+    @Query(value = "DELETE FROM calculator WHERE id IN (SELECT id FROM calculator WHERE created_at < :cutoff " +
+                   "ORDER BY created_at, id LIMIT :limit)",
+           nativeQuery = true)
+    int deleteOldestCreatedBefore(
+            @Param("cutoff") LocalDateTime cutoff,
+            @Param("limit") int limit);
+
+    // Keyset pagination over (created_at, id): the first page, then every page after a cursor.
+    // Returning a List with a Pageable only applies the LIMIT, no count query is run.
+    @Query("SELECT c FROM Calculator c ORDER BY c.createdAt DESC, c.id DESC")
+    List<Calculator> findFirstPage(Pageable limit);
+
+    @Query("SELECT c FROM Calculator c WHERE c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Calculator> findPageAfter(
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable limit);
 
     // Custom projection to get only operation type and result
     @Query("SELECT c.operationType as operationType, c.result as result FROM Calculator c WHERE c.id = :id")
@@ -0,0 +1,231 @@
+package com.java.coreTemplate.service;
+
+import com.java.coreTemplate.model.dto.AdministrationModule;
+import com.java.coreTemplate.repository.AdministrationModuleRepository;
+import com.java.coreTemplate.utility.invalidation.CacheInvalidationBus;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Immutable in-memory view of all administration modules, indexed by id, lowercase name
+ * and type, plus the list of active modules. The whole view is rebuilt from the table
+ * after every committed change (and every {@code refresh-interval-ms} to pick up other
+ * nodes' changes) and published through a single volatile write, so readers never lock,
+ * never see a half-built index and never go through a proxy or cache manager. Other
+ * nodes are told to rebuild through the {@link CacheInvalidationBus} under {@link #TOPIC}.
+ * <p>
+ * The returned modules are shared by all readers and must not be modified.
+ */
+@Component
+public class AdministrationModuleRegistry {
+    private static final Logger log = LoggerFactory.getLogger(AdministrationModuleRegistry.class);
+
+    public static final String TOPIC = "administrationModules.registry";
+
+    private static final Comparator<AdministrationModule> BY_NAME =
+            Comparator.comparing(AdministrationModule::getModuleName, Comparator.nullsLast(String::compareTo));
+
+    private final AdministrationModuleRepository repository;
+    private final CacheInvalidationBus invalidationBus;
+    private final TransactionTemplate transactionTemplate;
+    private final long refreshIntervalMs;
+    private final ScheduledExecutorService refresher;
+    private final AtomicInteger refreshRequests = new AtomicInteger();
+    private final List<Consumer<Collection<AdministrationModule>>> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    public AdministrationModuleRegistry(AdministrationModuleRepository repository,
+                                        CacheInvalidationBus invalidationBus,
+                                        PlatformTransactionManager transactionManager,
+                                        @Value("${app.admin-modules.registry.refresh-interval-ms:60000}") long refreshIntervalMs) {
+        this.repository = repository;
+        this.invalidationBus = invalidationBus;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Runs from afterCommit, where the finished transaction is still bound to the thread
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate.setReadOnly(true);
+        this.refreshIntervalMs = refreshIntervalMs;
+        this.refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "admin-module-registry");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    void start() {
+        refreshQuietly();
+        invalidationBus.addListener(TOPIC, () -> refresher.execute(this::refreshQuietly));
+        refresher.scheduleWithFixedDelay(this::refreshQuietly, refreshIntervalMs, refreshIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refresher.shutdown();
+    }
+
+    public AdministrationModule get(Long id) {
+        // The immutable maps reject null lookups
+        return id != null ? snapshot.byId.get(id) : null;
+    }
+
+    public AdministrationModule getByName(String name) {
+        return name != null ? snapshot.byName.get(name.toLowerCase(Locale.ROOT)) : null;
+    }
+
+    /**
+     * @return the modules of the type ordered by name, or an empty list
+     */
+    public List<AdministrationModule> getByType(String type) {
+        return type != null ? snapshot.byType.getOrDefault(type, List.of()) : List.of();
+    }
+
+    public List<AdministrationModule> getActive() {
+        return snapshot.active;
+    }
+
+    public Collection<AdministrationModule> getAll() {
+        return snapshot.byId.values();
+    }
+
+    /**
+     * Runs {@code listener} with every module each time a new snapshot is published, on
+     * the thread that built it.
+     */
+    public void addListener(Consumer<Collection<AdministrationModule>> listener) {
+        listeners.add(listener);
+    }
+
+    public int size() {
+        return snapshot.byId.size();
+    }
+
+    /**
+     * Rebuilds here and on every other node once the current transaction commits, or
+     * right away outside a transaction. Nothing is rebuilt if the transaction rolls back.
+     */
+    public void refreshAfterCommit() {
+        invalidationBus.invalidateAll(TOPIC);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refreshQuietly();
+                }
+            });
+        } else {
+            refreshQuietly();
+        }
+    }
+
+    /**
+     * Reloads every module and publishes a new snapshot. Concurrent calls are coalesced:
+     * while one thread rebuilds, other callers return immediately and the rebuilding
+     * thread runs once more so their changes are included.
+     */
+    public void refresh() {
+        if (refreshRequests.getAndIncrement() > 0) {
+            return;
+        }
+        int handled;
+        do {
+            handled = refreshRequests.get();
+            try {
+                List<AdministrationModule> modules = transactionTemplate.execute(status -> repository.findAll());
+                Snapshot published = Snapshot.of(modules != null ? modules : List.of());
+                snapshot = published;
+                notifyListeners(published.byId.values());
+            } catch (RuntimeException e) {
+                refreshRequests.set(0);
+                throw e;
+            }
+        } while (refreshRequests.addAndGet(-handled) > 0);
+    }
+
+    private void notifyListeners(Collection<AdministrationModule> modules) {
+        for (Consumer<Collection<AdministrationModule>> listener : listeners) {
+            try {
+                listener.accept(modules);
+            } catch (RuntimeException e) {
+                log.warn("Administration module registry listener failed", e);
+            }
+        }
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("Administration module registry refresh failed; serving the previous snapshot", e);
+        }
+    }
+
+    private static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(Map.of(), Map.of(), Map.of(), List.of());
+
+        final Map<Long, AdministrationModule> byId;
+        final Map<String, AdministrationModule> byName;
+        final Map<String, List<AdministrationModule>> byType;
+        final List<AdministrationModule> active;
+
+        private Snapshot(Map<Long, AdministrationModule> byId,
+                         Map<String, AdministrationModule> byName,
+                         Map<String, List<AdministrationModule>> byType,
+                         List<AdministrationModule> active) {
+            this.byId = byId;
+            this.byName = byName;
+            this.byType = byType;
+            this.active = active;
+        }
+
+        static Snapshot of(List<AdministrationModule> modules) {
+            Map<Long, AdministrationModule> byId = new HashMap<>();
+            Map<String, AdministrationModule> byName = new HashMap<>();
+            Map<String, List<AdministrationModule>> byType = new HashMap<>();
+            List<AdministrationModule> active = new ArrayList<>();
+            for (AdministrationModule module : modules) {
+                byId.put(module.getId(), module);
+                if (module.getModuleName() != null) {
+                    byName.put(module.getModuleName().toLowerCase(Locale.ROOT), module);
+                }
+                if (module.getType() != null) {
+                    byType.computeIfAbsent(module.getType(), type -> new ArrayList<>()).add(module);
+                }
+                if (module.isActive()) {
+                    active.add(module);
+                }
+            }
+            Map<String, List<AdministrationModule>> sortedByType = new HashMap<>();
+            byType.forEach((type, list) -> {
+                list.sort(BY_NAME);
+                sortedByType.put(type, List.copyOf(list));
+            });
+            active.sort(Comparator.comparing(AdministrationModule::getId));
+            return new Snapshot(Map.copyOf(byId), Map.copyOf(byName), Map.copyOf(sortedByType), List.copyOf(active));
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.java.coreTemplate.service;
+
+import com.java.coreTemplate.model.dto.AdministrationModule;
+import com.java.coreTemplate.model.dto.ModuleSearchHit;
+import com.java.coreTemplate.model.dto.RankedPage;
+import com.java.coreTemplate.repository.AdministrationModuleRepository;
+import com.java.coreTemplate.utility.KeysetCursor;
+import com.java.coreTemplate.utility.LikePatterns;
+import com.java.coreTemplate.utility.NGramIndex;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Ranked, paginated search over module names and descriptions.
+ * <p>
+ * {@code MEMORY} (the default) answers from an {@link NGramIndex} and the
+ * {@link AdministrationModuleRegistry} snapshot without touching the database. The index
+ * follows the registry: each time a snapshot is published, only modules whose name or
+ * description changed are re-indexed and deleted ones are removed, so a save or delete
+ * costs one document update rather than a rebuild. {@code DATABASE} runs the
+ * {@code pg_trgm} query instead, for catalogues too large to hold in memory.
+ */
+@Service
+@Transactional(readOnly = true)
+public class AdministrationModuleSearch {
+
+    public enum Source {
+        MEMORY,
+        DATABASE
+    }
+
+    private final AdministrationModuleRepository repository;
+    private final AdministrationModuleRegistry registry;
+    private final Source source;
+    private final double minSimilarity;
+    private final int maxResults;
+    private final NGramIndex index = new NGramIndex();
+    private final Timer searchTimer;
+
+    public AdministrationModuleSearch(AdministrationModuleRepository repository,
+                                      AdministrationModuleRegistry registry,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${app.admin-modules.search.source:MEMORY}") Source source,
+                                      @Value("${app.admin-modules.search.min-similarity:0.3}") double minSimilarity,
+                                      @Value("${app.admin-modules.search.max-results:1000}") int maxResults) {
+        this.repository = repository;
+        this.registry = registry;
+        this.source = source;
+        this.minSimilarity = minSimilarity;
+        this.maxResults = maxResults;
+        this.searchTimer = meterRegistry.timer("admin.modules.search", "source", source.name().toLowerCase(Locale.ROOT));
+        Gauge.builder("admin.modules.search.indexed", index, NGramIndex::size).register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (source == Source.MEMORY) {
+            // Listen first so a snapshot published during the initial sync is not missed
+            registry.addListener(this::sync);
+            sync(registry.getAll());
+        }
+    }
+
+    /**
+     * Pages are clamped like sizes: no page starts beyond {@code max-results}, since both
+     * sources have to rank every result before the requested page.
+     *
+     * @throws IllegalArgumentException if the query is blank
+     */
+    public RankedPage<ModuleSearchHit> search(String query, int page, int size) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("A search query is required");
+        }
+        int pageSize = KeysetCursor.clampSize(size);
+        int pageNumber = Math.max(0, Math.min(page, Math.max(0, maxResults - 1) / pageSize));
+        return searchTimer.record(() -> source == Source.MEMORY
+                ? searchIndex(query, pageNumber, pageSize)
+                : searchDatabase(query, pageNumber, pageSize));
+    }
+
+    private RankedPage<ModuleSearchHit> searchIndex(String query, int page, int size) {
+        long offset = (long) page * size;
+        NGramIndex.Result result = index.search(query, minSimilarity, (int) (offset + size));
+        List<NGramIndex.Hit> hits = result.hits();
+        List<ModuleSearchHit> content = new ArrayList<>(size);
+        for (int i = (int) Math.min(offset, hits.size()); i < hits.size(); i++) {
+            AdministrationModule module = registry.get(hits.get(i).id());
+            // The index can briefly be ahead of a snapshot that is still being published
+            if (module != null) {
+                content.add(new ModuleSearchHit(module, hits.get(i).score()));
+            }
+        }
+        return new RankedPage<>(content, page, size, result.total(), offset + size < result.total());
+    }
+
+    private RankedPage<ModuleSearchHit> searchDatabase(String query, int page, int size) {
+        String normalized = query.trim().toLowerCase(Locale.ROOT);
+        String prefix = LikePatterns.escape(normalized) + "%";
+        long offset = (long) page * size;
+        List<AdministrationModuleRepository.SearchRow> rows = repository.searchRanked(normalized, prefix, size, offset);
+        long total = rows.size() < size && (page == 0 || !rows.isEmpty())
+                ? offset + rows.size()
+                : repository.countSearch(normalized, prefix);
+
+        List<Long> missing = new ArrayList<>();
+        for (AdministrationModuleRepository.SearchRow row : rows) {
+            if (registry.get(row.getId()) == null) {
+                missing.add(row.getId());
+            }
+        }
+        Map<Long, AdministrationModule> loaded = new HashMap<>();
+        if (!missing.isEmpty()) {
+            repository.findByIds(missing).forEach(module -> loaded.put(module.getId(), module));
+        }
+        List<ModuleSearchHit> content = new ArrayList<>(rows.size());
+        for (AdministrationModuleRepository.SearchRow row : rows) {
+            AdministrationModule module = registry.get(row.getId());
+            if (module == null) {
+                module = loaded.get(row.getId());
+            }
+            if (module != null) {
+                content.add(new ModuleSearchHit(module, row.getScore()));
+            }
+        }
+        return new RankedPage<>(content, page, size, total, offset + size < total);
+    }
+
+    /**
+     * Brings the index in line with a registry snapshot, touching only documents that
+     * differ from it.
+     */
+    private synchronized void sync(Collection<AdministrationModule> modules) {
+        Set<Long> stale = index.ids();
+        for (AdministrationModule module : modules) {
+            stale.remove(module.getId());
+            String description = module.getDescription().orElse(null);
+            if (!index.contains(module.getId(), module.getModuleName(), description)) {
+                index.put(module.getId(), module.getModuleName(), description);
+            }
+        }
+        stale.forEach(index::remove);
+    }
+}
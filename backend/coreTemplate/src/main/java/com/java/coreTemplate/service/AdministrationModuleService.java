@@ -1,39 +1,83 @@
 package com.java.coreTemplate.service;
 
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import com.java.coreTemplate.repository.AdministrationModuleRepository;
 import com.java.coreTemplate.model.dto.AdministrationModule;
+import com.java.coreTemplate.model.dto.BulkItemResult;
+import com.java.coreTemplate.model.dto.CursorPage;
+import com.java.coreTemplate.utility.KeysetCursor;
+import com.java.coreTemplate.utility.LikePatterns;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.CacheEvict;
+import com.java.coreTemplate.config.CacheNames;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
+/**
+ * Administration modules. Name, type and active-list lookups are served from the
+ * {@link AdministrationModuleRegistry} snapshot, which is rebuilt after every committed
+ * write. Lookups by id and the count use their own caches; every write evicts only the
+ * ids it touched and clears the count only on insert or delete, so an edit to one
+ * module leaves every other cached module warm. Evictions reach other nodes through
+ * the cache manager.
+ */
 @Service
 @Transactional(readOnly = true)
 public class AdministrationModuleService {
 
     private final AdministrationModuleRepository repository;
+    private final AdministrationModuleRegistry registry;
+    private final EntityManager entityManager;
+    private final int batchSize;
+    private final Cache byIdCache;
+    private final Cache countCache;
 
-    public AdministrationModuleService(AdministrationModuleRepository repository) {
+    public AdministrationModuleService(AdministrationModuleRepository repository,
+                                       AdministrationModuleRegistry registry,
+                                       CacheManager cacheManager,
+                                       EntityManager entityManager,
+                                       @Value("${app.jpa.batch-size:50}") int batchSize) {
         this.repository = repository;
+        this.registry = registry;
+        this.entityManager = entityManager;
+        this.batchSize = batchSize;
+        this.byIdCache = cacheManager.getCache(CacheNames.ADMINISTRATION_MODULE_BY_ID);
+        this.countCache = cacheManager.getCache(CacheNames.ADMINISTRATION_MODULES_COUNT);
     }
 
     @Transactional
-    @CacheEvict(value = "administrationModules", allEntries = true)
     public AdministrationModule save(AdministrationModule entity) {
-        return repository.save(entity);
+        boolean inserted = entity.getId() == null;
+        AdministrationModule saved = repository.save(entity);
+        evictAfterWrite(saved.getId());
+        if (inserted) {
+            countCache.clear();
+        }
+        registry.refreshAfterCommit();
+        return saved;
     }
 
-    @Cacheable(value = "administrationModules", key = "#id")
+    @Cacheable(value = CacheNames.ADMINISTRATION_MODULE_BY_ID, key = "#id")
     public Optional<AdministrationModule> findById(Long id) {
         return repository.findById(id);
     }
 
-    @Cacheable("administrationModules")
+    // Not cached: a whole-table snapshot is unbounded and goes stale on every write
     public List<AdministrationModule> findAll() {
         return repository.findAll();
     }
@@ -42,30 +86,226 @@ public class AdministrationModuleService {
         return repository.findAll(pageable);
     }
 
-    @Cacheable(value = "administrationModules", key = "'active'")
+    /**
+     * Newest-first keyset page, optionally filtered by a name fragment. No count query
+     * is run and the cursor keeps deep pages as cheap as the first one.
+     */
+    public CursorPage<AdministrationModule> findPage(String name, String cursor, int size) {
+        int pageSize = KeysetCursor.clampSize(size);
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        String nameFilter = (name == null || name.isBlank()) ? null : LikePatterns.escape(name);
+        Pageable limit = PageRequest.ofSize(pageSize + 1);
+        List<AdministrationModule> rows = position == null
+                ? repository.findFirstPage(nameFilter, limit)
+                : repository.findPageAfter(nameFilter, position.createdAt(), position.id(), limit);
+        return KeysetCursor.page(rows, pageSize, AdministrationModule::getCreatedAt, AdministrationModule::getId);
+    }
+
     public List<AdministrationModule> findAllActive() {
-        return repository.findByIsActiveTrue();
+        return registry.getActive();
+    }
+
+    public List<AdministrationModule> findByType(String type) {
+        return registry.getByType(type);
     }
 
     @Transactional
-    @CacheEvict(value = "administrationModules", key = "#id")
     public void deleteById(Long id) {
         repository.deleteById(id);
+        evictAfterWrite(id);
+        countCache.clear();
+        registry.refreshAfterCommit();
+    }
+
+    /**
+     * Applies the changes to the stored module in place, so the update costs one SELECT
+     * and one UPDATE and no separate existence check.
+     *
+     * @return the updated module, or empty if there is none with the id
+     * @throws ObjectOptimisticLockingFailureException if {@code changes} carries a version
+     *                                                 that is no longer current
+     */
+    @Transactional
+    public Optional<AdministrationModule> update(Long id, AdministrationModule changes) {
+        return repository.findById(id).map(existing -> {
+            if (changes.getVersion() != null && !changes.getVersion().equals(existing.getVersion())) {
+                throw new ObjectOptimisticLockingFailureException(AdministrationModule.class, id);
+            }
+            applyChanges(existing, changes);
+            evictAfterWrite(existing.getId());
+            registry.refreshAfterCommit();
+            return existing;
+        });
+    }
+
+    public List<AdministrationModule> findAllById(List<Long> ids) {
+        return repository.findByIds(ids);
     }
 
+    /**
+     * Inserts every valid module. Invalid items are reported and skipped; the valid ones
+     * are written together in one transaction, in JDBC batches of {@code batch-size},
+     * and the persistence context is cleared after each batch. The last batch is flushed
+     * before any item is reported as created, so a failing INSERT surfaces here as a
+     * {@link jakarta.persistence.PersistenceException} and nothing is written.
+     */
     @Transactional
-    @CacheEvict(value = "administrationModules", allEntries = true)
-    public AdministrationModule update(AdministrationModule entity) {
-        return repository.save(entity);
+    public List<BulkItemResult> createAll(List<AdministrationModule> modules) {
+        String[] errors = new String[modules.size()];
+        boolean created = false;
+        int pending = 0;
+        for (int i = 0; i < modules.size(); i++) {
+            AdministrationModule module = modules.get(i);
+            errors[i] = validate(module);
+            if (errors[i] != null) {
+                continue;
+            }
+            module.setId(null);
+            module.setVersion(null);
+            entityManager.persist(module);
+            created = true;
+            if (++pending == batchSize) {
+                entityManager.flush();
+                entityManager.clear();
+                pending = 0;
+            }
+        }
+        if (pending > 0) {
+            entityManager.flush();
+        }
+
+        List<BulkItemResult> results = new ArrayList<>(modules.size());
+        for (int i = 0; i < modules.size(); i++) {
+            results.add(errors[i] == null
+                    ? BulkItemResult.success(i, modules.get(i).getId(), BulkItemResult.Status.CREATED)
+                    : BulkItemResult.failure(i, null, BulkItemResult.Status.INVALID, errors[i]));
+        }
+        if (created) {
+            countCache.clear();
+            registry.refreshAfterCommit();
+        }
+        return results;
     }
 
-    @Cacheable(value = "administrationModules", key = "'count'")
+    /**
+     * Updates every valid item that names an existing module and, if it carries a
+     * version, still matches it. All targets are loaded with one query and the changes
+     * are flushed at commit as batched versioned UPDATEs.
+     */
+    @Transactional
+    public List<BulkItemResult> updateAll(List<AdministrationModule> modules) {
+        List<Long> ids = new ArrayList<>(modules.size());
+        for (AdministrationModule module : modules) {
+            if (module.getId() != null) {
+                ids.add(module.getId());
+            }
+        }
+        Map<Long, AdministrationModule> existing = new HashMap<>();
+        for (AdministrationModule module : ids.isEmpty() ? List.<AdministrationModule>of() : repository.findByIds(ids)) {
+            existing.put(module.getId(), module);
+        }
+
+        List<BulkItemResult> results = new ArrayList<>(modules.size());
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < modules.size(); i++) {
+            AdministrationModule changes = modules.get(i);
+            Long id = changes.getId();
+            String error = id == null ? "An id is required" : validate(changes);
+            if (error == null && !seen.add(id)) {
+                error = "Duplicate id in request";
+            }
+            if (error != null) {
+                results.add(BulkItemResult.failure(i, id, BulkItemResult.Status.INVALID, error));
+                continue;
+            }
+            AdministrationModule target = existing.get(id);
+            if (target == null) {
+                results.add(BulkItemResult.failure(i, id, BulkItemResult.Status.NOT_FOUND, null));
+            } else if (changes.getVersion() != null && !changes.getVersion().equals(target.getVersion())) {
+                results.add(BulkItemResult.failure(i, id, BulkItemResult.Status.CONFLICT,
+                        "Current version is " + target.getVersion()));
+            } else {
+                applyChanges(target, changes);
+                evictAfterWrite(id);
+                results.add(BulkItemResult.success(i, id, BulkItemResult.Status.UPDATED));
+            }
+        }
+        if (results.stream().anyMatch(result -> result.getStatus() == BulkItemResult.Status.UPDATED)) {
+            registry.refreshAfterCommit();
+        }
+        return results;
+    }
+
+    /**
+     * Activates or deactivates the modules with one bulk UPDATE. Ids that do not exist
+     * are reported as not found.
+     */
+    @Transactional
+    public List<BulkItemResult> updateActiveStatus(List<Long> ids, boolean active) {
+        List<Long> distinct = ids.stream().filter(Objects::nonNull).distinct().toList();
+        Set<Long> found = distinct.isEmpty() ? Set.of() : new HashSet<>(repository.findExistingIds(distinct));
+        if (!found.isEmpty()) {
+            repository.updateActiveStatus(new ArrayList<>(found), active);
+            found.forEach(this::evictAfterWrite);
+            registry.refreshAfterCommit();
+        }
+        List<BulkItemResult> results = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            results.add(found.contains(id)
+                    ? BulkItemResult.success(i, id, BulkItemResult.Status.UPDATED)
+                    : BulkItemResult.failure(i, id, BulkItemResult.Status.NOT_FOUND, null));
+        }
+        return results;
+    }
+
+    @Cacheable(value = CacheNames.ADMINISTRATION_MODULES_COUNT, key = "'all'", sync = true)
     public long count() {
         return repository.count();
     }
 
-    @Cacheable(value = "administrationModules", key = "#name")
+    // Case-insensitive, like the repository's findByNameIgnoreCase
     public Optional<AdministrationModule> findByName(String name) {
-        return repository.findByName(name);
+        return Optional.ofNullable(registry.getByName(name));
+    }
+
+    // The one rule for every write path: evict, never put. This replaces the earlier
+    // write-through of save and update: the written entity is still managed and may change
+    // (version, defaults, a later flush) before commit, so the value put could differ from
+    // the committed row. The next read reloads it once, and the cache announces the
+    // eviction to other nodes.
+    private void evictAfterWrite(Long id) {
+        byIdCache.evict(id);
+    }
+
+    private static void applyChanges(AdministrationModule target, AdministrationModule changes) {
+        target.setModuleName(changes.getModuleName());
+        target.setDescription(changes.getDescription().orElse(null));
+        target.setActive(changes.isActive());
+        target.setSystemModule(changes.isSystemModule());
+        target.setAccessLevel(changes.getAccessLevel().orElse(null));
+        target.setType(changes.getType());
+    }
+
+    private static String validate(AdministrationModule module) {
+        if (module == null) {
+            return "Item is empty";
+        }
+        if (module.getModuleName() == null || module.getModuleName().isBlank()) {
+            return "moduleName is required";
+        }
+        if (module.getModuleName().length() > 100) {
+            return "moduleName is longer than 100 characters";
+        }
+        if (module.getDescription().map(String::length).orElse(0) > 500) {
+            return "description is longer than 500 characters";
+        }
+        if (module.getAccessLevel().map(String::length).orElse(0) > 50) {
+            return "accessLevel is longer than 50 characters";
+        }
+        if (module.getType() != null && module.getType().length() > 50) {
+            return "type is longer than 50 characters";
+        }
+        return null;
     }
 }
\ No newline at end of file
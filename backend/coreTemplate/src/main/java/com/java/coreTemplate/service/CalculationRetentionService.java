@@ -0,0 +1,212 @@
+package com.java.coreTemplate.service;
+
+import com.java.coreTemplate.config.CacheNames;
+import com.java.coreTemplate.repository.CalculatorRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Deletes calculations older than {@code app.calculator.retention.max-age-ms}.
+ * <p>
+ * Rows are removed oldest first, at most {@code chunk-size} per native DELETE, one short
+ * transaction per chunk and a pause of {@code pause-ms} in between, so no run holds
+ * locks on more than one chunk or produces one huge WAL burst. A run stops at the first
+ * chunk that comes back short, without ever measuring the expired range. Runs are
+ * resumable by construction: every committed chunk is gone, and the next run starts
+ * again from the oldest remaining row.
+ * <p>
+ * When the table is range-partitioned by month on {@code created_at} and
+ * {@code drop-partitions} is set, whole partitions that are entirely past the cutoff are
+ * dropped first; partition names must match {@code partition-pattern}. The chunked
+ * delete then only handles the remainder in the partition that is partly expired.
+ */
+@Service
+@ConditionalOnProperty(name = "app.calculator.retention.enabled", havingValue = "true")
+public class CalculationRetentionService {
+    private static final Logger log = LoggerFactory.getLogger(CalculationRetentionService.class);
+
+    private static final String PARTITIONS_SQL = "SELECT child.relname FROM pg_inherits i "
+            + "JOIN pg_class child ON child.oid = i.inhrelid "
+            + "JOIN pg_class parent ON parent.oid = i.inhparent "
+            + "WHERE parent.relname = 'calculator'";
+
+    private final CalculatorRepository repository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+    private final long maxAgeMs;
+    private final long intervalMs;
+    private final int chunkSize;
+    private final long pauseMs;
+    private final boolean dropPartitions;
+    private final DateTimeFormatter partitionPattern;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean stopping;
+
+    private final Counter deleted;
+    private final Counter partitionsDropped;
+    private final Timer chunkTimer;
+
+    public CalculationRetentionService(CalculatorRepository repository,
+                                       JdbcTemplate jdbcTemplate,
+                                       PlatformTransactionManager transactionManager,
+                                       CacheManager cacheManager,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${app.calculator.retention.max-age-ms:7776000000}") long maxAgeMs,
+                                       @Value("${app.calculator.retention.interval-ms:3600000}") long intervalMs,
+                                       @Value("${app.calculator.retention.chunk-size:5000}") int chunkSize,
+                                       @Value("${app.calculator.retention.pause-ms:100}") long pauseMs,
+                                       @Value("${app.calculator.retention.drop-partitions:false}") boolean dropPartitions,
+                                       @Value("${app.calculator.retention.partition-pattern:'calculator_p'yyyyMM}") String partitionPattern) {
+        this.repository = repository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cacheManager = cacheManager;
+        this.maxAgeMs = maxAgeMs;
+        this.intervalMs = intervalMs;
+        this.chunkSize = chunkSize;
+        this.pauseMs = pauseMs;
+        this.dropPartitions = dropPartitions;
+        this.partitionPattern = DateTimeFormatter.ofPattern(partitionPattern);
+
+        this.deleted = meterRegistry.counter("calculator.retention.deleted");
+        this.partitionsDropped = meterRegistry.counter("calculator.retention.partitions.dropped");
+        this.chunkTimer = meterRegistry.timer("calculator.retention.chunk");
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "calculation-retention");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    void start() {
+        scheduler.scheduleWithFixedDelay(this::purgeQuietly, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        stopping = true;
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Runs one purge pass unless one is already in progress.
+     *
+     * @return the number of rows deleted by chunked deletes, or -1 if a pass was already running
+     */
+    public long purge() {
+        if (!running.compareAndSet(false, true)) {
+            return -1;
+        }
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minusNanos(TimeUnit.MILLISECONDS.toNanos(maxAgeMs));
+            int dropped = dropPartitions ? dropExpiredPartitions(cutoff) : 0;
+            long rows = deleteInChunks(cutoff);
+            if (rows > 0 || dropped > 0) {
+                evictCalculationCaches();
+                log.info("Retention purge before {} deleted {} rows and dropped {} partitions", cutoff, rows, dropped);
+            }
+            return rows;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private long deleteInChunks(LocalDateTime cutoff) {
+        long total = 0;
+        while (!stopping) {
+            Integer count = chunkTimer.record(() -> transactionTemplate.execute(
+                    status -> repository.deleteOldestCreatedBefore(cutoff, chunkSize)));
+            int chunkRows = count != null ? count : 0;
+            total += chunkRows;
+            deleted.increment(chunkRows);
+            // The cutoff is fixed for the run, so a short chunk took the last expired rows
+            if (chunkRows < chunkSize || !pause()) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private int dropExpiredPartitions(LocalDateTime cutoff) {
+        int dropped = 0;
+        List<String> partitions = jdbcTemplate.queryForList(PARTITIONS_SQL, String.class);
+        for (String partition : partitions) {
+            YearMonth month;
+            try {
+                month = YearMonth.parse(partition, partitionPattern);
+            } catch (DateTimeParseException e) {
+                // Default or differently named partitions are left to the chunked delete
+                continue;
+            }
+            if (!month.plusMonths(1).atDay(1).atStartOfDay().isAfter(cutoff)) {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.execute(
+                        "DROP TABLE IF EXISTS " + quoteIdentifier(partition)));
+                partitionsDropped.increment();
+                dropped++;
+            }
+        }
+        return dropped;
+    }
+
+    private boolean pause() {
+        if (pauseMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void evictCalculationCaches() {
+        for (String name : List.of(CacheNames.CALCULATION_BY_ID, CacheNames.CALCULATIONS_ACTIVE,
+                CacheNames.CALCULATIONS_BY_OPERATION_TYPE)) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
+    private static String quoteIdentifier(String identifier) {
+        return '"' + identifier.replace("\"", "\"\"") + '"';
+    }
+
+    private void purgeQuietly() {
+        try {
+            purge();
+        } catch (RuntimeException e) {
+            log.warn("Calculation retention purge failed", e);
+        }
+    }
+}
@@ -1,53 +1,152 @@
 package com.java.coreTemplate.service;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import com.java.coreTemplate.config.CacheNames;
 import com.java.coreTemplate.repository.CalculatorRepository;
+import com.java.coreTemplate.model.dto.CalculationBatch;
+import com.java.coreTemplate.model.dto.CalculationError;
 import com.java.coreTemplate.model.dto.Calculator;
+import com.java.coreTemplate.model.dto.CalculatorOperation;
+import com.java.coreTemplate.model.dto.CursorPage;
+import com.java.coreTemplate.utility.CalculationExportWriter;
+import com.java.coreTemplate.utility.KeysetCursor;
+import com.java.coreTemplate.utility.expression.ExpressionCache;
+import com.java.coreTemplate.utility.expression.ExpressionException;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
 @Transactional(readOnly = true)
 public class CalculatorService {
 
     private final CalculatorRepository repository;
-
-    public CalculatorService(CalculatorRepository repository) {
+    private final EntityManager entityManager;
+    private final JsonFactory jsonFactory;
+    private final CalculatorUsageAccumulator usageAccumulator;
+    private final ExpressionCache expressionCache;
+
+    public CalculatorService(CalculatorRepository repository,
+                             EntityManager entityManager,
+                             ObjectMapper objectMapper,
+                             CalculatorUsageAccumulator usageAccumulator,
+                             @Value("${app.calculator.expression-cache.max-size:1024}") int expressionCacheSize) {
         this.repository = repository;
+        this.entityManager = entityManager;
+        this.usageAccumulator = usageAccumulator;
+        this.jsonFactory = objectMapper.getFactory();
+        this.expressionCache = new ExpressionCache(expressionCacheSize);
     }
 
     @Transactional
-    @CacheEvict(value = "calculations", allEntries = true)
+    @Caching(evict = {
+            @CacheEvict(value = CacheNames.CALCULATION_BY_ID, key = "#result.id"),
+            @CacheEvict(value = {CacheNames.CALCULATIONS_ACTIVE, CacheNames.CALCULATIONS_BY_OPERATION_TYPE},
+                    allEntries = true)
+    })
     public Calculator save(Calculator entity) {
         return repository.save(entity);
     }
 
-    @Cacheable("calculations")
+    @Cacheable(value = CacheNames.CALCULATION_BY_ID, key = "#id")
     public Optional<Calculator> findById(Long id) {
         return repository.findById(id);
     }
 
-    @Cacheable("calculations")
+    // Not cached: a whole-table snapshot is unbounded and goes stale on every write
     public List<Calculator> findAll() {
         return repository.findAll();
     }
 
-    @Cacheable("calculations")
     public Page<Calculator> findAll(Pageable pageable) {
         return repository.findAll(pageable);
     }
 
+    /**
+     * Newest-first history page after the given cursor. Every page is an index range
+     * scan on (created_at, id), so deep pages cost the same as the first one.
+     */
+    public CursorPage<Calculator> getCalculationHistory(String cursor, int size) {
+        int pageSize = KeysetCursor.clampSize(size);
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        Pageable limit = PageRequest.ofSize(pageSize + 1);
+        List<Calculator> rows = position == null
+                ? repository.findFirstPage(limit)
+                : repository.findPageAfter(position.createdAt(), position.id(), limit);
+        return KeysetCursor.page(rows, pageSize, Calculator::getCreatedAt, Calculator::getId);
+    }
+
+    /**
+     * Streams every calculation created in the range to the output. Rows are read from a
+     * forward-only cursor and detached once written, so memory use does not grow with
+     * the size of the range.
+     *
+     * @return the number of rows written
+     */
+    public long exportHistory(LocalDateTime start, LocalDateTime end,
+                              CalculationExportWriter.Format format, OutputStream outputStream) throws IOException {
+        long count = 0;
+        try (Stream<Calculator> rows = repository.streamByCreatedAtBetween(start, end);
+             CalculationExportWriter writer = new CalculationExportWriter(outputStream, format, jsonFactory)) {
+            Iterator<Calculator> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                Calculator row = iterator.next();
+                writer.write(row);
+                entityManager.detach(row);
+                count++;
+            }
+        }
+        return count;
+    }
+
     @Transactional
-    @CacheEvict(value = "calculations", allEntries = true)
+    @Caching(evict = {
+            @CacheEvict(value = CacheNames.CALCULATION_BY_ID, key = "#id"),
+            @CacheEvict(value = {CacheNames.CALCULATIONS_ACTIVE, CacheNames.CALCULATIONS_BY_OPERATION_TYPE},
+                    allEntries = true)
+    })
     public void deleteById(Long id) {
         repository.deleteById(id);
     }
 
+    // Usage and memory changes are coalesced and written in batches by CalculatorUsageAccumulator
+    public void touch(Long id) {
+        usageAccumulator.touch(id);
+    }
+
+    public void storeMemory(Long id, Double value) {
+        usageAccumulator.storeMemory(id, value);
+    }
+
+    public void addToMemory(Long id, double delta) {
+        usageAccumulator.addToMemory(id, delta);
+    }
+
+    public void clearMemory(Long id) {
+        usageAccumulator.storeMemory(id, null);
+    }
+
+    public Double recallMemory(Calculator calculator) {
+        return usageAccumulator.pendingMemory(calculator.getId(), calculator.getMemoryValue().orElse(null));
+    }
+
     public double add(double a, double b) {
         return a + b;
     }
@@ -72,17 +171,76 @@ public class CalculatorService {
         return Math.pow(base, exponent);
     }
 
-    @Cacheable(value = "calculations", key = "#root.methodName + #a + #b")
     public double calculatePercentage(double a, double b) {
         return (a * b) / 100;
     }
 
-    @Cacheable("calculations")
+    /**
+     * Evaluates every item of the batch in place. Failures such as division by zero are
+     * recorded per item instead of thrown, so one bad item does not abort the batch.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public CalculationBatch evaluate(CalculationBatch batch) {
+        CalculatorOperation[] operations = batch.getOperations();
+        double[] left = batch.getOperand1();
+        double[] right = batch.getOperand2();
+        double[] results = batch.getResults();
+        CalculationError[] errors = batch.getErrors();
+
+        for (int i = 0; i < results.length; i++) {
+            // Rejected while the batch was built
+            if (errors[i] != null) {
+                continue;
+            }
+            CalculatorOperation operation = operations[i];
+            double a = left[i];
+            double b = right[i];
+            if (operation == null) {
+                errors[i] = CalculationError.UNSUPPORTED_OPERATION;
+                continue;
+            }
+            if (operation == CalculatorOperation.DIVIDE && b == 0) {
+                errors[i] = CalculationError.DIVISION_BY_ZERO;
+                continue;
+            }
+            double result = switch (operation) {
+                case ADD -> a + b;
+                case SUBTRACT -> a - b;
+                case MULTIPLY -> a * b;
+                case DIVIDE -> a / b;
+                case POWER -> Math.pow(a, b);
+                case PERCENTAGE -> (a * b) / 100;
+            };
+            if (Double.isFinite(result)) {
+                results[i] = result;
+            } else {
+                errors[i] = CalculationError.NON_FINITE_RESULT;
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Evaluates an arithmetic expression such as {@code "sqrt(x^2 + y^2) * 2"}. Compiled
+     * expressions are cached by their text, so later calls only bind new variable values.
+     *
+     * @throws ExpressionException if the expression is invalid or a variable is unbound
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public double evaluate(String expression, Map<String, Double> variables) {
+        double result = expressionCache.get(expression).evaluate(variables);
+        if (!Double.isFinite(result)) {
+            throw new ArithmeticException("Expression result is not a finite number");
+        }
+        return result;
+    }
+
+    @Cacheable(value = CacheNames.CALCULATIONS_ACTIVE, key = "'all'")
     public List<Calculator> findAllActive() {
         return repository.findByIsActiveTrue();
     }
 
-    @Cacheable("calculations")
+    @Cacheable(value = CacheNames.CALCULATIONS_BY_OPERATION_TYPE, key = "#operationType")
     public List<Calculator> findByOperationType(String operationType) {
         return repository.findByOperationType(operationType);
     }
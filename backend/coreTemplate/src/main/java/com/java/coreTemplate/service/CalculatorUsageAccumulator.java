@@ -0,0 +1,325 @@
+package com.java.coreTemplate.service;
+
+import com.java.coreTemplate.config.CacheNames;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Coalesces calculator "touch" and memory operations per calculator id and writes them
+ * every {@code flush-interval-ms} as batched UPDATEs, instead of one entity save per use.
+ * <p>
+ * Conflict semantics:
+ * <ul>
+ *     <li>{@code lastUsedAt} only moves forward ({@code GREATEST}) and does not bump the
+ *     version, so touches never conflict with other writers.</li>
+ *     <li>Memory changes are versioned: the row's version is read, the new value is
+ *     computed and written with {@code WHERE version = ?}, and the version is bumped so a
+ *     concurrent entity save holding the old version fails instead of overwriting it.
+ *     Within a flush window a store replaces earlier changes and adds accumulate on top
+ *     of the latest store, or of the stored value when there was none.</li>
+ *     <li>When the versioned write loses to a concurrent writer, {@link ConflictPolicy}
+ *     decides: {@code RETRY} re-reads and reapplies up to {@code max-retries} times and
+ *     then requeues for the next flush; {@code DISCARD} lets the concurrent write win and
+ *     drops the pending memory change.</li>
+ * </ul>
+ * Reads see pending memory changes through {@link #pendingMemory(Long, Double)}, except
+ * for the moment between a batch being taken for a flush and its commit.
+ */
+@Component
+public class CalculatorUsageAccumulator {
+    private static final Logger log = LoggerFactory.getLogger(CalculatorUsageAccumulator.class);
+
+    private static final String TOUCH_SQL =
+            "UPDATE calculator SET last_used_at = GREATEST(last_used_at, ?) WHERE id = ?";
+    // Rows written before the entity was versioned have a NULL version, which never
+    // equals anything; they are treated as version 0 and get 1 on their first change
+    private static final String SELECT_SQL =
+            "SELECT id, COALESCE(version, 0) AS version, memory_value FROM calculator WHERE id IN (:ids)";
+    private static final String MEMORY_SQL =
+            "UPDATE calculator SET memory_value = ?, version = COALESCE(version, 0) + 1 " +
+            "WHERE id = ? AND COALESCE(version, 0) = ?";
+
+    public enum ConflictPolicy {
+        RETRY,
+        DISCARD
+    }
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+    private final ConcurrentHashMap<Long, PendingUsage> pending = new ConcurrentHashMap<>();
+    private final int flushSize;
+    private final long flushIntervalMs;
+    private final int maxRetries;
+    private final ConflictPolicy conflictPolicy;
+    private final ScheduledExecutorService flusher;
+
+    private final Counter operations;
+    private final Counter written;
+    private final Counter conflicts;
+    private final Counter discarded;
+    private final Counter requeued;
+    private final Counter missing;
+
+    public CalculatorUsageAccumulator(NamedParameterJdbcTemplate jdbcTemplate,
+                                      PlatformTransactionManager transactionManager,
+                                      CacheManager cacheManager,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${app.calculator.usage.flush-size:500}") int flushSize,
+                                      @Value("${app.calculator.usage.flush-interval-ms:1000}") long flushIntervalMs,
+                                      @Value("${app.calculator.usage.max-retries:3}") int maxRetries,
+                                      @Value("${app.calculator.usage.conflict-policy:RETRY}") ConflictPolicy conflictPolicy) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cacheManager = cacheManager;
+        this.flushSize = flushSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.maxRetries = maxRetries;
+        this.conflictPolicy = conflictPolicy;
+
+        this.operations = meterRegistry.counter("calculator.usage.operations");
+        this.written = meterRegistry.counter("calculator.usage.written");
+        this.conflicts = meterRegistry.counter("calculator.usage.conflicts");
+        this.discarded = meterRegistry.counter("calculator.usage.discarded");
+        this.requeued = meterRegistry.counter("calculator.usage.requeued");
+        this.missing = meterRegistry.counter("calculator.usage.missing");
+        Gauge.builder("calculator.usage.pending", pending, Map::size).register(meterRegistry);
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "calculator-usage-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    void start() {
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        flushQuietly();
+    }
+
+    public void touch(Long id) {
+        record(id, usage -> { });
+    }
+
+    public void storeMemory(Long id, Double value) {
+        record(id, usage -> {
+            usage.memorySet = true;
+            usage.memoryValue = value;
+            usage.memoryDelta = 0;
+        });
+    }
+
+    public void addToMemory(Long id, double delta) {
+        record(id, usage -> usage.memoryDelta += delta);
+    }
+
+    /**
+     * The memory value a reader should see: {@code stored} with any pending changes
+     * for the calculator applied.
+     */
+    public Double pendingMemory(Long id, Double stored) {
+        PendingUsage usage = pending.get(id);
+        if (usage == null) {
+            return stored;
+        }
+        synchronized (usage) {
+            return usage.applyTo(stored);
+        }
+    }
+
+    /**
+     * Writes every pending change in batches of {@code flush-size}.
+     */
+    public void flush() {
+        Map<Long, PendingUsage> batch = new HashMap<>();
+        for (Long id : pending.keySet()) {
+            PendingUsage usage = pending.remove(id);
+            if (usage == null) {
+                continue;
+            }
+            batch.put(id, usage);
+            if (batch.size() == flushSize) {
+                write(batch);
+                batch = new HashMap<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+    }
+
+    private void record(Long id, Consumer<PendingUsage> change) {
+        Instant now = Instant.now();
+        pending.compute(id, (key, usage) -> {
+            PendingUsage target = usage != null ? usage : new PendingUsage();
+            synchronized (target) {
+                if (target.lastUsedAt == null || now.isAfter(target.lastUsedAt)) {
+                    target.lastUsedAt = now;
+                }
+                change.accept(target);
+            }
+            return target;
+        });
+        operations.increment();
+    }
+
+    private void write(Map<Long, PendingUsage> batch) {
+        // Whatever is still in here when a write fails is requeued; committed changes are
+        // removed first so that memory additions are never applied twice
+        Map<Long, PendingUsage> unwritten = new HashMap<>(batch);
+        try {
+            List<Object[]> touches = new ArrayList<>(batch.size());
+            batch.forEach((id, usage) -> touches.add(new Object[]{Timestamp.from(usage.lastUsedAt), id}));
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.getJdbcTemplate().batchUpdate(TOUCH_SQL, touches));
+            unwritten.values().removeIf(usage -> !usage.hasMemoryChange());
+
+            for (int attempt = 0; !unwritten.isEmpty() && attempt <= maxRetries; attempt++) {
+                Map<Long, PendingUsage> conflicted = transactionTemplate.execute(status -> writeMemory(unwritten));
+                unwritten.clear();
+                if (conflicted != null && !conflicted.isEmpty()) {
+                    conflicts.increment(conflicted.size());
+                    if (conflictPolicy == ConflictPolicy.DISCARD) {
+                        discarded.increment(conflicted.size());
+                    } else {
+                        unwritten.putAll(conflicted);
+                    }
+                }
+            }
+            written.increment(batch.size() - unwritten.size());
+            evict(batch.keySet());
+        } catch (RuntimeException e) {
+            log.warn("Failed to write usage for {} calculators; retrying on the next flush", unwritten.size(), e);
+        }
+        if (!unwritten.isEmpty()) {
+            requeue(unwritten);
+        }
+    }
+
+    /**
+     * Applies the memory changes with versioned UPDATEs.
+     *
+     * @return the changes whose row was modified concurrently
+     */
+    private Map<Long, PendingUsage> writeMemory(Map<Long, PendingUsage> changes) {
+        Map<Long, long[]> versions = new HashMap<>();
+        Map<Long, Double> values = new HashMap<>();
+        jdbcTemplate.query(SELECT_SQL, Map.of("ids", changes.keySet()), resultSet -> {
+            long id = resultSet.getLong("id");
+            versions.put(id, new long[]{resultSet.getLong("version")});
+            double value = resultSet.getDouble("memory_value");
+            values.put(id, resultSet.wasNull() ? null : value);
+        });
+
+        List<Long> ids = new ArrayList<>(versions.size());
+        List<Object[]> args = new ArrayList<>(versions.size());
+        changes.forEach((id, usage) -> {
+            long[] version = versions.get(id);
+            if (version == null) {
+                // Deleted since the change was recorded
+                missing.increment();
+                return;
+            }
+            ids.add(id);
+            args.add(new Object[]{usage.applyTo(values.get(id)), id, version[0]});
+        });
+
+        int[] counts = jdbcTemplate.getJdbcTemplate().batchUpdate(MEMORY_SQL, args);
+        Map<Long, PendingUsage> conflicted = new HashMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                conflicted.put(ids.get(i), changes.get(ids.get(i)));
+            }
+        }
+        return conflicted;
+    }
+
+    private void requeue(Map<Long, PendingUsage> changes) {
+        requeued.increment(changes.size());
+        changes.forEach((id, earlier) -> pending.merge(id, earlier, (later, older) -> {
+            synchronized (later) {
+                later.mergeEarlier(older);
+            }
+            return later;
+        }));
+    }
+
+    private void evict(Iterable<Long> ids) {
+        Cache cache = cacheManager.getCache(CacheNames.CALCULATION_BY_ID);
+        if (cache != null) {
+            ids.forEach(cache::evict);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Calculator usage flush failed", e);
+        }
+    }
+
+    /**
+     * Changes recorded for one calculator since the last flush. Guarded by its own monitor.
+     */
+    private static final class PendingUsage {
+        private Instant lastUsedAt;
+        private boolean memorySet;
+        private Double memoryValue;
+        private double memoryDelta;
+
+        boolean hasMemoryChange() {
+            return memorySet || memoryDelta != 0;
+        }
+
+        Double applyTo(Double stored) {
+            Double base = memorySet ? memoryValue : stored;
+            if (memoryDelta == 0) {
+                return base;
+            }
+            return (base != null ? base : 0) + memoryDelta;
+        }
+
+        /** Folds in changes that happened before this one's. */
+        void mergeEarlier(PendingUsage earlier) {
+            if (earlier.lastUsedAt != null && (lastUsedAt == null || earlier.lastUsedAt.isAfter(lastUsedAt))) {
+                lastUsedAt = earlier.lastUsedAt;
+            }
+            if (!memorySet) {
+                memorySet = earlier.memorySet;
+                memoryValue = earlier.memoryValue;
+                memoryDelta += earlier.memoryDelta;
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.java.coreTemplate.utility;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.java.coreTemplate.model.dto.Calculator;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+/**
+ * Writes calculation history rows one at a time as NDJSON or CSV. Nothing is buffered
+ * beyond the underlying stream, so memory stays constant however many rows are written.
+ */
+public class CalculationExportWriter implements Closeable {
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    private static final String CSV_HEADER = "id,operation_type,operand1,operand2,result,created_at\n";
+
+    private final Format format;
+    private final Writer csv;
+    private final JsonGenerator json;
+
+    public CalculationExportWriter(OutputStream outputStream, Format format, JsonFactory jsonFactory) throws IOException {
+        this.format = format;
+        if (format == Format.CSV) {
+            this.csv = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 8192);
+            this.json = null;
+            csv.write(CSV_HEADER);
+        } else {
+            this.csv = null;
+            this.json = jsonFactory.createGenerator(outputStream);
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.setRootValueSeparator(null);
+        }
+    }
+
+    public void write(Calculator row) throws IOException {
+        if (format == Format.CSV) {
+            writeCsv(row);
+        } else {
+            writeJson(row);
+        }
+    }
+
+    private void writeJson(Calculator row) throws IOException {
+        json.writeStartObject();
+        json.writeNumberField("id", row.getId());
+        json.writeStringField("operationType", row.getOperationType());
+        writeNumber("operand1", row.getOperand1());
+        writeNumber("operand2", row.getOperand2());
+        writeNumber("result", row.getResult());
+        json.writeStringField("createdAt", toString(row.getCreatedAt()));
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    private void writeNumber(String field, Double value) throws IOException {
+        if (value == null) {
+            json.writeNullField(field);
+        } else {
+            json.writeNumberField(field, value);
+        }
+    }
+
+    private void writeCsv(Calculator row) throws IOException {
+        csv.write(String.valueOf(row.getId()));
+        csv.write(',');
+        csv.write(escape(row.getOperationType()));
+        csv.write(',');
+        csv.write(toString(row.getOperand1()));
+        csv.write(',');
+        csv.write(toString(row.getOperand2()));
+        csv.write(',');
+        csv.write(toString(row.getResult()));
+        csv.write(',');
+        csv.write(toString(row.getCreatedAt()));
+        csv.write('\n');
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static String toString(Double value) {
+        return value != null ? value.toString() : "";
+    }
+
+    private static String toString(LocalDateTime value) {
+        return value != null ? value.toString() : null;
+    }
+
+    /**
+     * Flushes buffered output. The underlying stream is left open for its owner to close.
+     */
+    @Override
+    public void close() throws IOException {
+        if (csv != null) {
+            csv.flush();
+        } else {
+            json.close();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.java.coreTemplate.utility;
+
+import com.java.coreTemplate.model.dto.CursorPage;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Position in a listing ordered by {@code (created_at DESC, id DESC)}. The seek relies on
+ * {@code created_at} being NOT NULL, see {@code db/keyset-created-at.sql}. Encoded as an
+ * opaque Base64url token so clients cannot depend on its layout.
+ */
+public record KeysetCursor(LocalDateTime createdAt, Long id) {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the decoded cursor, or {@code null} for the first page
+     * @throws IllegalArgumentException if the token was not produced by {@link #encode()}
+     */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new KeysetCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (IndexOutOfBoundsException | DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public static int clampSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Builds a page from a query that fetched {@code size + 1} rows; the extra row only
+     * tells whether another page exists and is not returned.
+     */
+    public static <T> CursorPage<T> page(List<T> rows, int size,
+                                         Function<T, LocalDateTime> createdAt, Function<T, Long> id) {
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            T last = content.get(content.size() - 1);
+            nextCursor = new KeysetCursor(createdAt.apply(last), id.apply(last)).encode();
+        }
+        return new CursorPage<>(content, nextCursor, hasNext);
+    }
+}
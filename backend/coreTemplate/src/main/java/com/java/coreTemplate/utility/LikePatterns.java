@@ -0,0 +1,16 @@
+package com.java.coreTemplate.utility;
+
+/**
+ * Escaping for user input placed in a LIKE pattern, so {@code %} and {@code _} match
+ * themselves. Queries using the result must declare {@code ESCAPE '\'}, which is also
+ * PostgreSQL's default.
+ */
+public final class LikePatterns {
+
+    private LikePatterns() {
+    }
+
+    public static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
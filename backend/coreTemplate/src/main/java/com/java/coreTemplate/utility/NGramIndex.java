@@ -0,0 +1,328 @@
+package com.java.coreTemplate.utility;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram and word-prefix index over a name and a description per document.
+ * <p>
+ * Text is lowercased and split into words; each word contributes the trigrams of
+ * {@code "  word "}, padded the way {@code pg_trgm} pads, so the ranking here and the
+ * database path agree closely. A query matches a document when at least
+ * {@code minSimilarity} of its trigrams occur in the name or the description, or when
+ * one of its words is a prefix of a word of the name, so one- and two-letter typeahead
+ * queries work too. Hits are ranked by trigram coverage of the name, half that of the
+ * description, plus a bonus for an exact name and for a name or name word starting with
+ * the query.
+ * <p>
+ * Documents are added, replaced and removed one at a time. Each document gets a dense
+ * slot number and postings are sorted slot arrays, so a lookup is a few array scans
+ * into a counter array, and only the requested top hits are ordered. Reads share a lock.
+ */
+public class NGramIndex {
+
+    public record Hit(long id, double score) {
+    }
+
+    /**
+     * The best {@code limit} hits, best first, and how many documents matched in all.
+     */
+    public record Result(List<Hit> hits, int total) {
+    }
+
+    private static final double DESCRIPTION_WEIGHT = 0.5;
+    private static final double EXACT_BONUS = 1.0;
+    private static final double PREFIX_BONUS = 0.5;
+    private static final double WORD_PREFIX_BONUS = 0.25;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> slotsById = new HashMap<>();
+    private final List<Document> slots = new ArrayList<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private final Map<String, Postings> nameGrams = new HashMap<>();
+    private final Map<String, Postings> descriptionGrams = new HashMap<>();
+    private final TreeMap<String, Postings> nameWords = new TreeMap<>();
+
+    /**
+     * Indexes the document, replacing an earlier version with the same id.
+     */
+    public void put(long id, String name, String description) {
+        Document document = new Document(id, normalize(name), normalize(description));
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsById.get(id);
+            if (slot != null) {
+                unlink(slot, slots.get(slot));
+            } else if (!freeSlots.isEmpty()) {
+                slot = freeSlots.pop();
+            } else {
+                slot = slots.size();
+                slots.add(null);
+            }
+            slots.set(slot, document);
+            slotsById.put(id, slot);
+            link(slot, document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsById.remove(id);
+            if (slot != null) {
+                unlink(slot, slots.get(slot));
+                slots.set(slot, null);
+                freeSlots.push(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return whether the document is indexed with exactly this name and description
+     */
+    public boolean contains(long id, String name, String description) {
+        lock.readLock().lock();
+        try {
+            Integer slot = slotsById.get(id);
+            if (slot == null) {
+                return false;
+            }
+            Document document = slots.get(slot);
+            return document.name.equals(normalize(name)) && document.description.equals(normalize(description));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Set<Long> ids() {
+        lock.readLock().lock();
+        try {
+            return new HashSet<>(slotsById.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the best {@code limit} matches, ties broken by name and then id, and the
+     *         number of matches in all
+     */
+    public Result search(String query, double minSimilarity, int limit) {
+        String normalized = normalize(query);
+        List<String> queryWords = words(normalized);
+        if (queryWords.isEmpty() || limit <= 0) {
+            return new Result(List.of(), 0);
+        }
+        Set<String> queryGrams = grams(queryWords);
+        int required = (int) Math.ceil(minSimilarity * queryGrams.size());
+
+        lock.readLock().lock();
+        try {
+            int[] nameCounts = new int[slots.size()];
+            int[] descriptionCounts = new int[slots.size()];
+            boolean[] wordPrefix = new boolean[slots.size()];
+            // Slots with any match, so documents that share nothing with the query are never visited
+            int[] touched = new int[slots.size()];
+            int touchedCount = 0;
+            for (String gram : queryGrams) {
+                touchedCount = count(nameGrams.get(gram), nameCounts, descriptionCounts, wordPrefix, touched, touchedCount);
+                touchedCount = count(descriptionGrams.get(gram), descriptionCounts, nameCounts, wordPrefix, touched, touchedCount);
+            }
+            for (String word : queryWords) {
+                for (Postings postings : nameWords.subMap(word, word + Character.MAX_VALUE).values()) {
+                    for (int i = 0; i < postings.size; i++) {
+                        int slot = postings.slots[i];
+                        if (!wordPrefix[slot] && nameCounts[slot] == 0 && descriptionCounts[slot] == 0) {
+                            touched[touchedCount++] = slot;
+                        }
+                        wordPrefix[slot] = true;
+                    }
+                }
+            }
+
+            Comparator<Candidate> best = Comparator.comparingDouble((Candidate candidate) -> candidate.score)
+                    .reversed()
+                    .thenComparing(candidate -> candidate.document.name)
+                    .thenComparingLong(candidate -> candidate.document.id);
+            // Worst candidate on top, so it is the one dropped once the queue is full. Sized by
+            // the candidates there are, not the limit, which a deep page can make huge.
+            PriorityQueue<Candidate> top = new PriorityQueue<>(Math.min(limit, touchedCount) + 1, best.reversed());
+            int total = 0;
+            for (int i = 0; i < touchedCount; i++) {
+                int slot = touched[i];
+                if (nameCounts[slot] < required && descriptionCounts[slot] < required && !wordPrefix[slot]) {
+                    continue;
+                }
+                Document document = slots.get(slot);
+                double score = Math.max((double) nameCounts[slot] / queryGrams.size(),
+                        DESCRIPTION_WEIGHT * descriptionCounts[slot] / queryGrams.size());
+                if (document.name.equals(normalized)) {
+                    score += EXACT_BONUS;
+                } else if (document.name.startsWith(normalized)) {
+                    score += PREFIX_BONUS;
+                } else if (wordPrefix[slot]) {
+                    score += WORD_PREFIX_BONUS;
+                }
+                total++;
+                if (top.size() == limit && score < top.peek().score) {
+                    continue;
+                }
+                top.add(new Candidate(document, score));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            List<Candidate> ordered = new ArrayList<>(top);
+            ordered.sort(best);
+            List<Hit> hits = new ArrayList<>(ordered.size());
+            ordered.forEach(candidate -> hits.add(new Hit(candidate.document.id, candidate.score)));
+            return new Result(hits, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void link(int slot, Document document) {
+        document.nameGrams.forEach(gram -> nameGrams.computeIfAbsent(gram, key -> new Postings()).add(slot));
+        document.descriptionGrams.forEach(gram -> descriptionGrams.computeIfAbsent(gram, key -> new Postings()).add(slot));
+        document.nameWords.forEach(word -> nameWords.computeIfAbsent(word, key -> new Postings()).add(slot));
+    }
+
+    private void unlink(int slot, Document document) {
+        document.nameGrams.forEach(gram -> removePosting(nameGrams, gram, slot));
+        document.descriptionGrams.forEach(gram -> removePosting(descriptionGrams, gram, slot));
+        document.nameWords.forEach(word -> removePosting(nameWords, word, slot));
+    }
+
+    private static void removePosting(Map<String, Postings> postings, String key, int slot) {
+        Postings list = postings.get(key);
+        if (list != null && list.remove(slot) && list.size == 0) {
+            postings.remove(key);
+        }
+    }
+
+    /**
+     * Counts one posting list into {@code counts}, appending slots seen for the first
+     * time to {@code touched}.
+     *
+     * @return the new number of touched slots
+     */
+    private static int count(Postings postings, int[] counts, int[] otherCounts, boolean[] wordPrefix,
+                             int[] touched, int touchedCount) {
+        if (postings != null) {
+            for (int i = 0; i < postings.size; i++) {
+                int slot = postings.slots[i];
+                if (counts[slot]++ == 0 && otherCounts[slot] == 0 && !wordPrefix[slot]) {
+                    touched[touchedCount++] = slot;
+                }
+            }
+        }
+        return touchedCount;
+    }
+
+    static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT).trim();
+    }
+
+    private static List<String> words(String normalized) {
+        List<String> words = new ArrayList<>();
+        for (String word : normalized.split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private static Set<String> grams(List<String> words) {
+        Set<String> grams = new HashSet<>();
+        for (String word : words) {
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                grams.add(padded.substring(i, i + 3));
+            }
+        }
+        return grams;
+    }
+
+    private record Candidate(Document document, double score) {
+    }
+
+    private static final class Document {
+        final long id;
+        final String name;
+        final String description;
+        final Set<String> nameWords;
+        final Set<String> nameGrams;
+        final Set<String> descriptionGrams;
+
+        Document(long id, String name, String description) {
+            this.id = id;
+            this.name = name;
+            this.description = description;
+            List<String> words = words(name);
+            this.nameWords = new HashSet<>(words);
+            this.nameGrams = grams(words);
+            this.descriptionGrams = grams(words(description));
+        }
+    }
+
+    /**
+     * Sorted, duplicate-free slot numbers.
+     */
+    private static final class Postings {
+        int[] slots = new int[4];
+        int size;
+
+        void add(int slot) {
+            int position = Arrays.binarySearch(slots, 0, size, slot);
+            if (position >= 0) {
+                return;
+            }
+            position = -position - 1;
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            System.arraycopy(slots, position, slots, position + 1, size - position);
+            slots[position] = slot;
+            size++;
+        }
+
+        boolean remove(int slot) {
+            int position = Arrays.binarySearch(slots, 0, size, slot);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(slots, position + 1, slots, position, size - position - 1);
+            size--;
+            return true;
+        }
+    }
+}
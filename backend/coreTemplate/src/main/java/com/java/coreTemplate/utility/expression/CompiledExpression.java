@@ -0,0 +1,47 @@
+package com.java.coreTemplate.utility.expression;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parsed, immutable form of an expression. Variables are resolved to array slots at
+ * compile time, so evaluation only walks the closure tree; instances are thread-safe
+ * and meant to be cached and reused with different bindings.
+ */
+public final class CompiledExpression {
+
+    @FunctionalInterface
+    interface Node {
+        double evaluate(double[] variables);
+    }
+
+    private final String source;
+    private final Node root;
+    private final List<String> variableNames;
+
+    CompiledExpression(String source, Node root, List<String> variableNames) {
+        this.source = source;
+        this.root = root;
+        this.variableNames = List.copyOf(variableNames);
+    }
+
+    public double evaluate(Map<String, Double> bindings) {
+        double[] values = new double[variableNames.size()];
+        for (int i = 0; i < values.length; i++) {
+            Double value = bindings != null ? bindings.get(variableNames.get(i)) : null;
+            if (value == null) {
+                throw new ExpressionException("Missing value for variable '" + variableNames.get(i) + "'");
+            }
+            values[i] = value;
+        }
+        return root.evaluate(values);
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public List<String> getVariableNames() {
+        return variableNames;
+    }
+}
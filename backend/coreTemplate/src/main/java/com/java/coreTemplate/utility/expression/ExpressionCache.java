@@ -0,0 +1,43 @@
+package com.java.coreTemplate.utility.expression;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU of compiled expressions keyed by their source text, so re-evaluating a
+ * formula with new bindings skips parsing.
+ */
+public class ExpressionCache {
+
+    private final Map<String, CompiledExpression> entries;
+
+    public ExpressionCache(int maxSize) {
+        this.entries = new LinkedHashMap<>(Math.min(maxSize, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompiledExpression> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public CompiledExpression get(String expression) {
+        synchronized (entries) {
+            CompiledExpression compiled = entries.get(expression);
+            if (compiled != null) {
+                return compiled;
+            }
+        }
+        // Compile outside the lock; a concurrent duplicate compile is harmless
+        CompiledExpression compiled = ExpressionParser.compile(expression);
+        synchronized (entries) {
+            entries.putIfAbsent(expression, compiled);
+        }
+        return compiled;
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+}
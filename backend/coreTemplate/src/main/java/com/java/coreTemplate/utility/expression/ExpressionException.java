@@ -0,0 +1,10 @@
+package com.java.coreTemplate.utility.expression;
+
+public class ExpressionException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ExpressionException(String message) {
+        super(message);
+    }
+}
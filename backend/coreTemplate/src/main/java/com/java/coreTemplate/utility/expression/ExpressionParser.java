@@ -0,0 +1,276 @@
+package com.java.coreTemplate.utility.expression;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Recursive-descent parser that compiles arithmetic expressions into a closure tree.
+ * <p>
+ * Supports {@code + - * / % ^}, unary minus, parentheses, number literals, the
+ * constants {@code pi} and {@code e}, variables, and the functions {@code abs, sqrt,
+ * cbrt, exp, ln, log, log10, sin, cos, tan, floor, ceil, round, min, max, pow}.
+ * Sub-trees made only of constants are folded while compiling.
+ * <p>
+ * Input is limited to {@link #MAX_LENGTH} characters and nesting (parentheses, signs,
+ * exponents and function arguments) to {@link #MAX_DEPTH} levels, so a hostile
+ * expression is rejected with an {@link ExpressionException} instead of overflowing the
+ * stack while parsing or evaluating.
+ */
+public final class ExpressionParser {
+
+    public static final int MAX_LENGTH = 1000;
+    public static final int MAX_DEPTH = 50;
+
+    private final String source;
+    private final List<String> variableNames = new ArrayList<>();
+    private int position;
+    private int depth;
+
+    private ExpressionParser(String source) {
+        this.source = source;
+    }
+
+    public static CompiledExpression compile(String expression) {
+        if (expression == null || expression.isBlank()) {
+            throw new ExpressionException("Expression must not be empty");
+        }
+        if (expression.length() > MAX_LENGTH) {
+            throw new ExpressionException("Expression is longer than " + MAX_LENGTH + " characters");
+        }
+        ExpressionParser parser = new ExpressionParser(expression);
+        Compiled root = parser.parseExpression();
+        parser.skipWhitespace();
+        if (parser.position < expression.length()) {
+            throw parser.error("Unexpected '" + expression.charAt(parser.position) + "'");
+        }
+        return new CompiledExpression(expression, root.node, parser.variableNames);
+    }
+
+    // expression := term (('+' | '-') term)*
+    private Compiled parseExpression() {
+        Compiled left = parseTerm();
+        while (true) {
+            if (accept('+')) {
+                left = binary(left, parseTerm(), (a, b) -> a + b);
+            } else if (accept('-')) {
+                left = binary(left, parseTerm(), (a, b) -> a - b);
+            } else {
+                return left;
+            }
+        }
+    }
+
+    // term := unary (('*' | '/' | '%') unary)*
+    private Compiled parseTerm() {
+        Compiled left = parseUnary();
+        while (true) {
+            if (accept('*')) {
+                left = binary(left, parseUnary(), (a, b) -> a * b);
+            } else if (accept('/')) {
+                left = binary(left, parseUnary(), (a, b) -> a / b);
+            } else if (accept('%')) {
+                left = binary(left, parseUnary(), (a, b) -> a % b);
+            } else {
+                return left;
+            }
+        }
+    }
+
+    // unary := ('-' | '+') unary | power; every level of nesting passes through here
+    private Compiled parseUnary() {
+        if (++depth > MAX_DEPTH) {
+            throw error("Expression is nested more than " + MAX_DEPTH + " levels deep");
+        }
+        try {
+            return parseSignedOrPower();
+        } finally {
+            depth--;
+        }
+    }
+
+    private Compiled parseSignedOrPower() {
+        if (accept('-')) {
+            Compiled operand = parseUnary();
+            CompiledExpression.Node node = operand.node;
+            return fold(variables -> -node.evaluate(variables), operand.constant);
+        }
+        if (accept('+')) {
+            return parseUnary();
+        }
+        return parsePower();
+    }
+
+    // power := primary ('^' unary)?, right-associative so 2^3^2 = 2^9
+    private Compiled parsePower() {
+        Compiled base = parsePrimary();
+        if (accept('^')) {
+            return binary(base, parseUnary(), Math::pow);
+        }
+        return base;
+    }
+
+    // primary := number | identifier | identifier '(' arguments ')' | '(' expression ')'
+    private Compiled parsePrimary() {
+        skipWhitespace();
+        if (accept('(')) {
+            Compiled inner = parseExpression();
+            expect(')');
+            return inner;
+        }
+        if (position < source.length()) {
+            char c = source.charAt(position);
+            if (Character.isDigit(c) || c == '.') {
+                return parseNumber();
+            }
+            if (Character.isLetter(c) || c == '_') {
+                return parseIdentifier();
+            }
+            throw error("Unexpected '" + c + "'");
+        }
+        throw error("Unexpected end of expression");
+    }
+
+    private Compiled parseNumber() {
+        int start = position;
+        while (position < source.length()
+                && (Character.isDigit(source.charAt(position)) || source.charAt(position) == '.')) {
+            position++;
+        }
+        if (position < source.length() && (source.charAt(position) == 'e' || source.charAt(position) == 'E')) {
+            int exponent = position + 1;
+            if (exponent < source.length() && (source.charAt(exponent) == '+' || source.charAt(exponent) == '-')) {
+                exponent++;
+            }
+            if (exponent < source.length() && Character.isDigit(source.charAt(exponent))) {
+                position = exponent;
+                while (position < source.length() && Character.isDigit(source.charAt(position))) {
+                    position++;
+                }
+            }
+        }
+        try {
+            return constant(Double.parseDouble(source.substring(start, position)));
+        } catch (NumberFormatException e) {
+            throw error("Invalid number '" + source.substring(start, position) + "'");
+        }
+    }
+
+    private Compiled parseIdentifier() {
+        int start = position;
+        while (position < source.length()
+                && (Character.isLetterOrDigit(source.charAt(position)) || source.charAt(position) == '_')) {
+            position++;
+        }
+        String name = source.substring(start, position);
+        if (accept('(')) {
+            List<Compiled> arguments = new ArrayList<>();
+            if (!accept(')')) {
+                do {
+                    arguments.add(parseExpression());
+                } while (accept(','));
+                expect(')');
+            }
+            return function(name.toLowerCase(Locale.ROOT), arguments);
+        }
+        return switch (name.toLowerCase(Locale.ROOT)) {
+            case "pi" -> constant(Math.PI);
+            case "e" -> constant(Math.E);
+            default -> variable(name);
+        };
+    }
+
+    private Compiled function(String name, List<Compiled> arguments) {
+        return switch (name) {
+            case "abs" -> unary(name, arguments, Math::abs);
+            case "sqrt" -> unary(name, arguments, Math::sqrt);
+            case "cbrt" -> unary(name, arguments, Math::cbrt);
+            case "exp" -> unary(name, arguments, Math::exp);
+            case "ln", "log" -> unary(name, arguments, Math::log);
+            case "log10" -> unary(name, arguments, Math::log10);
+            case "sin" -> unary(name, arguments, Math::sin);
+            case "cos" -> unary(name, arguments, Math::cos);
+            case "tan" -> unary(name, arguments, Math::tan);
+            case "floor" -> unary(name, arguments, Math::floor);
+            case "ceil" -> unary(name, arguments, Math::ceil);
+            case "round" -> unary(name, arguments, value -> (double) Math.round(value));
+            case "min" -> binaryFunction(name, arguments, Math::min);
+            case "max" -> binaryFunction(name, arguments, Math::max);
+            case "pow" -> binaryFunction(name, arguments, Math::pow);
+            default -> throw error("Unknown function '" + name + "'");
+        };
+    }
+
+    private Compiled unary(String name, List<Compiled> arguments, DoubleUnaryOperator function) {
+        checkArity(name, arguments, 1);
+        CompiledExpression.Node argument = arguments.get(0).node;
+        return fold(variables -> function.applyAsDouble(argument.evaluate(variables)), arguments.get(0).constant);
+    }
+
+    private Compiled binaryFunction(String name, List<Compiled> arguments,
+                                    DoubleBinaryOperator function) {
+        checkArity(name, arguments, 2);
+        return binary(arguments.get(0), arguments.get(1), function);
+    }
+
+    private void checkArity(String name, List<Compiled> arguments, int arity) {
+        if (arguments.size() != arity) {
+            throw error("Function '" + name + "' expects " + arity + " argument(s), got " + arguments.size());
+        }
+    }
+
+    private Compiled binary(Compiled left, Compiled right, DoubleBinaryOperator operator) {
+        CompiledExpression.Node l = left.node;
+        CompiledExpression.Node r = right.node;
+        return fold(variables -> operator.applyAsDouble(l.evaluate(variables), r.evaluate(variables)),
+                left.constant && right.constant);
+    }
+
+    private Compiled variable(String name) {
+        int index = variableNames.indexOf(name);
+        if (index < 0) {
+            index = variableNames.size();
+            variableNames.add(name);
+        }
+        int slot = index;
+        return new Compiled(variables -> variables[slot], false);
+    }
+
+    private static Compiled constant(double value) {
+        return new Compiled(variables -> value, true);
+    }
+
+    private static Compiled fold(CompiledExpression.Node node, boolean constant) {
+        return constant ? constant(node.evaluate(null)) : new Compiled(node, false);
+    }
+
+    private boolean accept(char expected) {
+        skipWhitespace();
+        if (position < source.length() && source.charAt(position) == expected) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char expected) {
+        if (!accept(expected)) {
+            throw error("Expected '" + expected + "'");
+        }
+    }
+
+    private void skipWhitespace() {
+        while (position < source.length() && Character.isWhitespace(source.charAt(position))) {
+            position++;
+        }
+    }
+
+    private ExpressionException error(String message) {
+        return new ExpressionException(message + " at position " + position);
+    }
+
+    private record Compiled(CompiledExpression.Node node, boolean constant) {
+    }
+}
@@ -0,0 +1,83 @@
+package com.java.coreTemplate.utility.invalidation;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Transaction-aware view of the local caches that also announces every eviction and
+ * clear on the {@link CacheInvalidationBus}. Puts are not announced: a put is usually a
+ * read populating the cache, and callers that write through announce the key themselves.
+ */
+public class BroadcastingCacheManager implements CacheManager {
+
+    private final CacheManager target;
+    private final CacheInvalidationBus bus;
+    private final Map<String, Cache> decorated = new ConcurrentHashMap<>();
+
+    public BroadcastingCacheManager(CacheManager target, CacheInvalidationBus bus) {
+        this.target = target;
+        this.bus = bus;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = decorated.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache targetCache = target.getCache(name);
+        return targetCache != null
+                ? decorated.computeIfAbsent(name, key -> new BroadcastingCache(targetCache, bus))
+                : null;
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return target.getCacheNames();
+    }
+
+    /**
+     * Extends the transaction-aware decorator so local changes still apply after commit
+     * and the actuator still finds the underlying cache for its metrics.
+     */
+    static class BroadcastingCache extends TransactionAwareCacheDecorator {
+
+        private final CacheInvalidationBus bus;
+
+        BroadcastingCache(Cache target, CacheInvalidationBus bus) {
+            super(target);
+            this.bus = bus;
+        }
+
+        @Override
+        public void evict(Object key) {
+            super.evict(key);
+            bus.invalidate(getName(), key);
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            boolean evicted = super.evictIfPresent(key);
+            bus.invalidate(getName(), key);
+            return evicted;
+        }
+
+        @Override
+        public void clear() {
+            super.clear();
+            bus.invalidateAll(getName());
+        }
+
+        @Override
+        public boolean invalidate() {
+            boolean invalidated = super.invalidate();
+            bus.invalidateAll(getName());
+            return invalidated;
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.java.coreTemplate.utility.invalidation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tells other nodes which local cache entries to drop. Invalidations made inside a
+ * transaction are queued when it commits; the queue is published every
+ * {@code coalesceMs}, so a burst of writes becomes one message per interval, and a cache
+ * with more than {@code maxKeysPerCache} pending keys is cleared as a whole instead.
+ * <p>
+ * A message is the sender's node id followed by one {@code cacheName<TAB>key} line per
+ * invalidation, where the key is {@code *} for the whole cache, {@code L}/{@code I} plus
+ * a number or {@code S} plus a URL-encoded string. Keys of other types clear the whole
+ * cache on the receivers. Receivers evict from their undecorated caches, so applying a
+ * remote invalidation is never re-broadcast, and run the listeners registered for the
+ * cache name.
+ */
+public class CacheInvalidationBus implements InvalidationTransport.Listener, AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    private static final String ALL_KEYS = "*";
+    private static final int MAX_KEY_LENGTH = 512;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final InvalidationTransport transport;
+    private final CacheManager localCaches;
+    private final long coalesceMs;
+    private final int maxKeysPerCache;
+    private final int maxMessageLength;
+    private final Map<String, Set<String>> pending = new ConcurrentHashMap<>();
+    private final Map<String, List<Runnable>> listeners = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher;
+
+    private final Counter published;
+    private final Counter received;
+    private final Counter resets;
+
+    /**
+     * @param localCaches the caches remote invalidations are applied to, without the
+     *                    broadcasting decorator
+     */
+    public CacheInvalidationBus(InvalidationTransport transport,
+                                CacheManager localCaches,
+                                MeterRegistry meterRegistry,
+                                long coalesceMs,
+                                int maxKeysPerCache,
+                                int maxMessageLength) {
+        this.transport = transport;
+        this.localCaches = localCaches;
+        this.coalesceMs = coalesceMs;
+        this.maxKeysPerCache = maxKeysPerCache;
+        this.maxMessageLength = maxMessageLength;
+
+        this.published = meterRegistry.counter("cache.invalidation.published");
+        this.received = meterRegistry.counter("cache.invalidation.received");
+        this.resets = meterRegistry.counter("cache.invalidation.resets");
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cache-invalidation-publisher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public CacheManager getLocalCaches() {
+        return localCaches;
+    }
+
+    public void start() {
+        transport.start(this);
+        flusher.scheduleWithFixedDelay(this::flushQuietly, coalesceMs, coalesceMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        flusher.shutdown();
+        flushQuietly();
+        transport.close();
+    }
+
+    /**
+     * Announces that {@code key} in {@code cacheName} is stale. Local caches are not
+     * touched; callers evict or overwrite their own entry.
+     */
+    public void invalidate(String cacheName, Object key) {
+        enqueueAfterCommit(cacheName, encodeKey(key));
+    }
+
+    public void invalidateAll(String cacheName) {
+        enqueueAfterCommit(cacheName, ALL_KEYS);
+    }
+
+    /**
+     * Runs {@code listener} whenever another node invalidates anything in
+     * {@code cacheName}, and after a transport reset. Listeners run on the transport's
+     * thread and should hand off anything slow.
+     */
+    public void addListener(String cacheName, Runnable listener) {
+        listeners.computeIfAbsent(cacheName, name -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    /**
+     * Publishes everything queued so far.
+     */
+    public void flush() {
+        List<String> lines = new ArrayList<>();
+        for (String cacheName : pending.keySet()) {
+            Set<String> keys = pending.remove(cacheName);
+            if (keys != null) {
+                keys.forEach(key -> lines.add(cacheName + '\t' + key));
+            }
+        }
+        if (lines.isEmpty()) {
+            return;
+        }
+        StringBuilder message = new StringBuilder(nodeId);
+        List<String> messageLines = new ArrayList<>();
+        for (String line : lines) {
+            if (!messageLines.isEmpty() && message.length() + 1 + line.length() > maxMessageLength) {
+                send(message.toString(), messageLines);
+                message = new StringBuilder(nodeId);
+                messageLines = new ArrayList<>();
+            }
+            message.append('\n').append(line);
+            messageLines.add(line);
+        }
+        send(message.toString(), messageLines);
+    }
+
+    @Override
+    public void onMessage(String message) {
+        String[] lines = message.split("\n");
+        if (lines.length < 2 || nodeId.equals(lines[0])) {
+            return;
+        }
+        received.increment();
+        Set<String> touched = new LinkedHashSet<>();
+        for (int i = 1; i < lines.length; i++) {
+            int tab = lines[i].indexOf('\t');
+            if (tab <= 0) {
+                continue;
+            }
+            String cacheName = lines[i].substring(0, tab);
+            String key = lines[i].substring(tab + 1);
+            // Names without a cache, such as listener topics, must not create one
+            Cache cache = localCaches.getCacheNames().contains(cacheName) ? localCaches.getCache(cacheName) : null;
+            if (cache != null) {
+                Object decoded = ALL_KEYS.equals(key) ? null : decodeKey(key);
+                if (decoded == null) {
+                    cache.clear();
+                } else {
+                    cache.evict(decoded);
+                }
+            }
+            touched.add(cacheName);
+        }
+        touched.forEach(this::notifyListeners);
+    }
+
+    @Override
+    public void onReset() {
+        resets.increment();
+        for (String cacheName : localCaches.getCacheNames()) {
+            Cache cache = localCaches.getCache(cacheName);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+        listeners.keySet().forEach(this::notifyListeners);
+    }
+
+    private void enqueueAfterCommit(String cacheName, String key) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(cacheName, key);
+                }
+            });
+        } else {
+            enqueue(cacheName, key);
+        }
+    }
+
+    private void enqueue(String cacheName, String key) {
+        pending.compute(cacheName, (name, keys) -> {
+            Set<String> target = keys != null ? keys : new HashSet<>();
+            if (target.contains(ALL_KEYS)) {
+                return target;
+            }
+            if (ALL_KEYS.equals(key) || target.size() >= maxKeysPerCache) {
+                target.clear();
+                target.add(ALL_KEYS);
+            } else {
+                target.add(key);
+            }
+            return target;
+        });
+    }
+
+    private void send(String message, List<String> lines) {
+        try {
+            transport.publish(message);
+            published.increment();
+        } catch (RuntimeException e) {
+            log.warn("Could not publish {} cache invalidations; retrying on the next flush", lines.size(), e);
+            for (String line : lines) {
+                int tab = line.indexOf('\t');
+                enqueue(line.substring(0, tab), line.substring(tab + 1));
+            }
+        }
+    }
+
+    private void notifyListeners(String cacheName) {
+        for (Runnable listener : listeners.getOrDefault(cacheName, List.of())) {
+            try {
+                listener.run();
+            } catch (RuntimeException e) {
+                log.warn("Invalidation listener for {} failed", cacheName, e);
+            }
+        }
+    }
+
+    private static String encodeKey(Object key) {
+        String encoded;
+        if (key instanceof Long value) {
+            encoded = "L" + value;
+        } else if (key instanceof Integer value) {
+            encoded = "I" + value;
+        } else if (key instanceof String value) {
+            encoded = "S" + URLEncoder.encode(value, StandardCharsets.UTF_8);
+        } else {
+            return ALL_KEYS;
+        }
+        return encoded.length() <= MAX_KEY_LENGTH ? encoded : ALL_KEYS;
+    }
+
+    private static Object decodeKey(String key) {
+        try {
+            return switch (key.charAt(0)) {
+                case 'L' -> Long.valueOf(key.substring(1));
+                case 'I' -> Integer.valueOf(key.substring(1));
+                case 'S' -> URLDecoder.decode(key.substring(1), StandardCharsets.UTF_8);
+                default -> null;
+            };
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Cache invalidation flush failed", e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.java.coreTemplate.utility.invalidation;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Delivers every published message synchronously to every listener started on the same
+ * instance. A single node only hears itself, which the bus ignores; several buses
+ * sharing one instance behave like nodes on one channel, without a database.
+ */
+public class InProcessInvalidationTransport implements InvalidationTransport {
+
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(String message) {
+        for (Listener listener : listeners) {
+            listener.onMessage(message);
+        }
+    }
+
+    @Override
+    public void start(Listener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void close() {
+        listeners.clear();
+    }
+}
@@ -0,0 +1,22 @@
+package com.java.coreTemplate.utility.invalidation;
+
+/**
+ * Carries invalidation messages between nodes. Delivery is best effort; a transport
+ * that may have missed messages (after a reconnect, for example) calls
+ * {@link Listener#onReset()} so the receiver can drop everything it has cached.
+ */
+public interface InvalidationTransport extends AutoCloseable {
+
+    void publish(String message);
+
+    void start(Listener listener);
+
+    @Override
+    void close();
+
+    interface Listener {
+        void onMessage(String message);
+
+        void onReset();
+    }
+}
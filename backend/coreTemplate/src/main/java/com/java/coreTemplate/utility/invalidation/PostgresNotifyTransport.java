@@ -0,0 +1,116 @@
+package com.java.coreTemplate.utility.invalidation;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.regex.Pattern;
+
+/**
+ * Publishes with {@code pg_notify} on a pooled connection and listens on a dedicated
+ * connection from {@code listenDataSource}, held for the lifetime of the transport. That
+ * source should open connections outside the pool, so LISTEN never takes one of the
+ * connections requests are sized against. When the listening connection fails it is
+ * reopened after {@code reconnectDelayMs}, and the listener is reset because anything
+ * sent in between was missed. NOTIFY payloads must stay below 8000 bytes.
+ */
+public class PostgresNotifyTransport implements InvalidationTransport {
+    private static final Logger log = LoggerFactory.getLogger(PostgresNotifyTransport.class);
+
+    private static final Pattern CHANNEL = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private final DataSource dataSource;
+    private final DataSource listenDataSource;
+    private final String channel;
+    private final int pollTimeoutMs;
+    private final long reconnectDelayMs;
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    public PostgresNotifyTransport(DataSource dataSource, DataSource listenDataSource,
+                                   String channel, int pollTimeoutMs, long reconnectDelayMs) {
+        if (!CHANNEL.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Invalid notification channel: " + channel);
+        }
+        this.dataSource = dataSource;
+        this.listenDataSource = listenDataSource;
+        this.channel = channel;
+        this.pollTimeoutMs = pollTimeoutMs;
+        this.reconnectDelayMs = reconnectDelayMs;
+    }
+
+    @Override
+    public void publish(String message) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            statement.setString(1, channel);
+            statement.setString(2, message);
+            statement.execute();
+            // Notifications are only delivered once the sending transaction commits
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not publish invalidation on " + channel, e);
+        }
+    }
+
+    @Override
+    public synchronized void start(Listener listener) {
+        if (running) {
+            throw new IllegalStateException("Transport already started");
+        }
+        running = true;
+        listenerThread = new Thread(() -> listen(listener), "cache-invalidation-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    private void listen(Listener listener) {
+        while (running) {
+            try (Connection connection = listenDataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                // Messages sent while we were not listening are lost
+                listener.onReset();
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMs);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        listener.onMessage(notification.getParameter());
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Invalidation listener on {} failed; reconnecting in {} ms", channel, reconnectDelayMs, e);
+                try {
+                    Thread.sleep(reconnectDelayMs);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+}
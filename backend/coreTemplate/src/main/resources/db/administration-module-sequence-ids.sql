@@ -0,0 +1,7 @@
+-- Required before enabling app.admin-modules.sequence-ids: Hibernate's pooled sequence
+-- takes 50 ids per call and refuses to start while the sequence increments by 1.
+-- Each value it reads is the top of its block, so the next one is set to MAX(id) + 50
+-- and the first block starts just above the existing ids.
+ALTER SEQUENCE administration_module_id_seq INCREMENT BY 50;
+SELECT setval('administration_module_id_seq',
+              (SELECT COALESCE(MAX(id), 0) + 50 FROM administration_module), false);
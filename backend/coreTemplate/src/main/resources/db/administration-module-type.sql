@@ -0,0 +1,3 @@
+-- Required by the module_type mapping on AdministrationModule: the registry and every
+-- module query select it, so they fail on a schema without the column.
+ALTER TABLE administration_module ADD COLUMN IF NOT EXISTS module_type varchar(50);
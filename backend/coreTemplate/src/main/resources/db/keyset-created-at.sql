@@ -0,0 +1,20 @@
+-- Required before serving the keyset listings: the seek (created_at, id) < (:c, :id)
+-- never matches a NULL created_at, so such rows would be skipped on every page.
+-- New rows always get created_at from @PrePersist; this backfills older ones and
+-- makes the column NOT NULL so none can appear again.
+
+-- History columns the Calculator mapping gained alongside the keyset listings
+ALTER TABLE calculator ADD COLUMN IF NOT EXISTS operation_type varchar(20);
+ALTER TABLE calculator ADD COLUMN IF NOT EXISTS operand1 double precision;
+ALTER TABLE calculator ADD COLUMN IF NOT EXISTS operand2 double precision;
+ALTER TABLE calculator ADD COLUMN IF NOT EXISTS result double precision;
+ALTER TABLE calculator ADD COLUMN IF NOT EXISTS created_at timestamp;
+
+UPDATE calculator SET created_at = now() WHERE created_at IS NULL;
+ALTER TABLE calculator ALTER COLUMN created_at SET NOT NULL;
+
+UPDATE administration_module SET created_at = COALESCE(last_modified_at, now()) WHERE created_at IS NULL;
+ALTER TABLE administration_module ALTER COLUMN created_at SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_calculator_created_at_id ON calculator (created_at, id);
+CREATE INDEX IF NOT EXISTS idx_administration_module_created_at_id ON administration_module (created_at, id);
@@ -0,0 +1,78 @@
+package com.java.coreTemplate.utility;
+
+import com.java.coreTemplate.model.dto.CursorPage;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTest {
+
+    private record Row(LocalDateTime createdAt, Long id) {
+    }
+
+    @Test
+    void encodedCursorDecodesToTheSamePosition() {
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123_456_000), 42L);
+
+        assertThat(KeysetCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void missingCursorMeansFirstPage() {
+        assertThat(KeysetCursor.decode(null)).isNull();
+        assertThat(KeysetCursor.decode("")).isNull();
+    }
+
+    @Test
+    void rejectsTokensItDidNotProduce() {
+        assertThatThrownBy(() -> KeysetCursor.decode("not base64 !"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode(token("no-separator")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode(token("yesterday|1")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode(token("2024-03-01T12:30|abc")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void clampsPageSize() {
+        assertThat(KeysetCursor.clampSize(0)).isEqualTo(1);
+        assertThat(KeysetCursor.clampSize(-5)).isEqualTo(1);
+        assertThat(KeysetCursor.clampSize(50)).isEqualTo(50);
+        assertThat(KeysetCursor.clampSize(10_000)).isEqualTo(KeysetCursor.MAX_PAGE_SIZE);
+    }
+
+    @Test
+    void extraRowMarksANextPageAndIsNotReturned() {
+        LocalDateTime now = LocalDateTime.of(2024, 3, 1, 12, 0);
+        List<Row> rows = List.of(new Row(now, 3L), new Row(now, 2L), new Row(now.minusMinutes(1), 1L));
+
+        CursorPage<Row> page = KeysetCursor.page(rows, 2, Row::createdAt, Row::id);
+
+        assertThat(page.getContent()).extracting(Row::id).containsExactly(3L, 2L);
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(KeysetCursor.decode(page.getNextCursor())).isEqualTo(new KeysetCursor(now, 2L));
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        LocalDateTime now = LocalDateTime.of(2024, 3, 1, 12, 0);
+
+        CursorPage<Row> page = KeysetCursor.page(List.of(new Row(now, 1L)), 2, Row::createdAt, Row::id);
+
+        assertThat(page.getContent()).hasSize(1);
+        assertThat(page.isHasNext()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    private static String token(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
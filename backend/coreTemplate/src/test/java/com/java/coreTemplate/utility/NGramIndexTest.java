@@ -0,0 +1,98 @@
+package com.java.coreTemplate.utility;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NGramIndexTest {
+
+    private static final double MIN_SIMILARITY = 0.3;
+
+    @Test
+    void ranksExactThenPrefixThenWordPrefixThenDescription() {
+        NGramIndex index = new NGramIndex();
+        index.put(3, "User Billing", null);
+        index.put(4, "Audit", "Billing audit trail");
+        index.put(1, "Billing", null);
+        index.put(5, "Inventory", null);
+        index.put(2, "Billing Reports", null);
+
+        NGramIndex.Result result = index.search("billing", MIN_SIMILARITY, 10);
+
+        assertThat(result.hits()).extracting(NGramIndex.Hit::id).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(result.total()).isEqualTo(4);
+    }
+
+    @Test
+    void breaksTiesByNameThenId() {
+        NGramIndex index = new NGramIndex();
+        index.put(10, "Reports Zeta", null);
+        index.put(11, "Reports Alpha", null);
+        index.put(12, "Reports Alpha", "same name");
+
+        assertThat(index.search("reports", MIN_SIMILARITY, 10).hits())
+                .extracting(NGramIndex.Hit::id)
+                .containsExactly(11L, 12L, 10L);
+    }
+
+    @Test
+    void smallerLimitsAreAPrefixOfTheFullRanking() {
+        NGramIndex index = new NGramIndex();
+        for (int i = 49; i >= 0; i--) {
+            index.put(i, String.format("Module %02d", i), null);
+        }
+
+        NGramIndex.Result all = index.search("module", MIN_SIMILARITY, 50);
+        NGramIndex.Result firstPage = index.search("module", MIN_SIMILARITY, 10);
+        NGramIndex.Result twoPages = index.search("module", MIN_SIMILARITY, 20);
+
+        assertThat(all.hits()).extracting(NGramIndex.Hit::id).startsWith(0L, 1L, 2L).hasSize(50);
+        assertThat(firstPage.hits()).isEqualTo(all.hits().subList(0, 10));
+        assertThat(twoPages.hits().subList(10, 20)).isEqualTo(all.hits().subList(10, 20));
+        assertThat(firstPage.total()).isEqualTo(50);
+    }
+
+    @Test
+    void hugeLimitOnlyReturnsTheMatches() {
+        NGramIndex index = new NGramIndex();
+        index.put(1, "Billing", null);
+        index.put(2, "Inventory", null);
+
+        NGramIndex.Result result = index.search("billing", MIN_SIMILARITY, Integer.MAX_VALUE);
+
+        assertThat(result.hits()).extracting(NGramIndex.Hit::id).containsExactly(1L);
+        assertThat(result.total()).isEqualTo(1);
+    }
+
+    @Test
+    void shortQueriesMatchByWordPrefix() {
+        NGramIndex index = new NGramIndex();
+        index.put(1, "Billing", null);
+        index.put(2, "Inventory", null);
+
+        assertThat(index.search("b", MIN_SIMILARITY, 10).hits())
+                .extracting(NGramIndex.Hit::id)
+                .containsExactly(1L);
+    }
+
+    @Test
+    void replacedAndRemovedDocumentsLeaveNoTrace() {
+        NGramIndex index = new NGramIndex();
+        index.put(1, "Billing", null);
+        index.put(2, "Inventory", null);
+
+        index.put(1, "Shipping", null);
+        index.remove(2);
+        index.put(3, "Inventory Audit", null);
+
+        assertThat(index.search("billing", MIN_SIMILARITY, 10).total()).isZero();
+        assertThat(index.search("shipping", MIN_SIMILARITY, 10).hits())
+                .extracting(NGramIndex.Hit::id)
+                .containsExactly(1L);
+        assertThat(index.search("inventory", MIN_SIMILARITY, 10).hits())
+                .extracting(NGramIndex.Hit::id)
+                .containsExactly(3L);
+        assertThat(index.contains(1, "Shipping", null)).isTrue();
+        assertThat(index.ids()).containsExactlyInAnyOrder(1L, 3L);
+    }
+}
@@ -0,0 +1,63 @@
+package com.java.coreTemplate.utility.expression;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExpressionParserTest {
+
+    @Test
+    void evaluatesWithPrecedenceAndVariables() {
+        CompiledExpression expression = ExpressionParser.compile("2 + 3 * x ^ 2 - max(1, y) / 2");
+
+        assertThat(expression.getVariableNames()).containsExactlyInAnyOrder("x", "y");
+        assertThat(expression.evaluate(Map.of("x", 2.0, "y", 4.0))).isEqualTo(12.0);
+        assertThat(ExpressionParser.compile("2^3^2").evaluate(Map.of())).isEqualTo(512.0);
+    }
+
+    @Test
+    void acceptsExpressionsAtTheLimits() {
+        String longest = "1" + "+1".repeat((ExpressionParser.MAX_LENGTH - 1) / 2);
+        String deepest = "(".repeat(ExpressionParser.MAX_DEPTH - 1) + "1" + ")".repeat(ExpressionParser.MAX_DEPTH - 1);
+
+        assertThat(longest).hasSizeLessThanOrEqualTo(ExpressionParser.MAX_LENGTH);
+        assertThat(ExpressionParser.compile(longest).evaluate(Map.of())).isEqualTo((longest.length() + 1) / 2.0);
+        assertThat(ExpressionParser.compile(deepest).evaluate(Map.of())).isEqualTo(1.0);
+    }
+
+    @Test
+    void rejectsOverlongExpressions() {
+        String tooLong = "1" + " ".repeat(ExpressionParser.MAX_LENGTH);
+
+        assertThatThrownBy(() -> ExpressionParser.compile(tooLong))
+                .isInstanceOf(ExpressionException.class)
+                .hasMessageContaining("longer than");
+    }
+
+    @Test
+    void rejectsDeepNestingOfEveryKind() {
+        int levels = ExpressionParser.MAX_DEPTH + 1;
+
+        for (String nested : new String[]{
+                "(".repeat(levels) + "1" + ")".repeat(levels),
+                "-".repeat(levels) + "1",
+                "2^".repeat(levels) + "1",
+                "abs(".repeat(levels) + "1" + ")".repeat(levels)}) {
+            assertThatThrownBy(() -> ExpressionParser.compile(nested))
+                    .as(nested)
+                    .isInstanceOf(ExpressionException.class)
+                    .hasMessageContaining("nested");
+        }
+    }
+
+    @Test
+    void rejectsEmptyAndMalformedInput() {
+        assertThatThrownBy(() -> ExpressionParser.compile(" ")).isInstanceOf(ExpressionException.class);
+        assertThatThrownBy(() -> ExpressionParser.compile("1 +")).isInstanceOf(ExpressionException.class);
+        assertThatThrownBy(() -> ExpressionParser.compile("(1")).isInstanceOf(ExpressionException.class);
+        assertThatThrownBy(() -> ExpressionParser.compile("1 $ 2")).isInstanceOf(ExpressionException.class);
+    }
+}
@@ -0,0 +1,127 @@
+package com.java.coreTemplate.utility.invalidation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheInvalidationBusTest {
+
+    private static final String CACHE = "modules";
+
+    private final InProcessInvalidationTransport transport = new InProcessInvalidationTransport();
+    private final ConcurrentMapCacheManager senderCaches = new ConcurrentMapCacheManager(CACHE);
+    private final ConcurrentMapCacheManager receiverCaches = new ConcurrentMapCacheManager(CACHE);
+    private CacheInvalidationBus sender;
+    private CacheInvalidationBus receiver;
+
+    @BeforeEach
+    void startNodes() {
+        // Flushed by hand, so the scheduled publisher never fires during a test
+        sender = new CacheInvalidationBus(transport, senderCaches, new SimpleMeterRegistry(), 60_000, 3, 8000);
+        receiver = new CacheInvalidationBus(transport, receiverCaches, new SimpleMeterRegistry(), 60_000, 3, 8000);
+        sender.start();
+        receiver.start();
+        for (Cache cache : new Cache[]{senderCaches.getCache(CACHE), receiverCaches.getCache(CACHE)}) {
+            cache.put(1L, "one");
+            cache.put(2L, "two");
+            cache.put("billing", "by name");
+        }
+    }
+
+    @AfterEach
+    void stopNodes() {
+        sender.close();
+        receiver.close();
+    }
+
+    @Test
+    void evictsOnlyTheInvalidatedKeysOnOtherNodes() {
+        sender.invalidate(CACHE, 1L);
+        sender.invalidate(CACHE, "billing");
+        sender.flush();
+
+        Cache remote = receiverCaches.getCache(CACHE);
+        assertThat(remote.get(1L)).isNull();
+        assertThat(remote.get("billing")).isNull();
+        assertThat(remote.get(2L).get()).isEqualTo("two");
+        // The sender ignores its own message; callers evict their own entries
+        assertThat(senderCaches.getCache(CACHE).get(1L)).isNotNull();
+    }
+
+    @Test
+    void nothingIsSentUntilFlushed() {
+        sender.invalidate(CACHE, 1L);
+
+        assertThat(receiverCaches.getCache(CACHE).get(1L)).isNotNull();
+    }
+
+    @Test
+    void invalidateAllClearsTheRemoteCache() {
+        sender.invalidateAll(CACHE);
+        sender.flush();
+
+        assertThat((Map<?, ?>) receiverCaches.getCache(CACHE).getNativeCache()).isEmpty();
+    }
+
+    @Test
+    void tooManyKeysClearTheWholeCache() {
+        receiverCaches.getCache(CACHE).put(99L, "untouched by any key");
+        for (long key = 1; key <= 4; key++) {
+            sender.invalidate(CACHE, key);
+        }
+        sender.flush();
+
+        assertThat(receiverCaches.getCache(CACHE).get(99L)).isNull();
+    }
+
+    @Test
+    void listenersRunOnTheReceivingNode() {
+        AtomicInteger senderCalls = new AtomicInteger();
+        AtomicInteger receiverCalls = new AtomicInteger();
+        sender.addListener("modules.registry", senderCalls::incrementAndGet);
+        receiver.addListener("modules.registry", receiverCalls::incrementAndGet);
+
+        sender.invalidateAll("modules.registry");
+        sender.flush();
+
+        assertThat(receiverCalls).hasValue(1);
+        assertThat(senderCalls).hasValue(0);
+        // A topic without a cache must not create one
+        assertThat(receiverCaches.getCacheNames()).containsExactly(CACHE);
+    }
+
+    @Test
+    void invalidationsInsideATransactionWaitForCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            sender.invalidate(CACHE, 1L);
+            sender.flush();
+            assertThat(receiverCaches.getCache(CACHE).get(1L)).isNotNull();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        sender.flush();
+
+        assertThat(receiverCaches.getCache(CACHE).get(1L)).isNull();
+    }
+
+    @Test
+    void resetClearsEveryLocalCache() {
+        receiver.onReset();
+
+        assertThat(receiverCaches.getCache(CACHE).get(2L)).isNull();
+        assertThat(senderCaches.getCache(CACHE).get(2L)).isNotNull();
+    }
+}
@@ -0,0 +1,84 @@
+package com.java.coreTemplate.benchmark;
+
+import com.java.coreTemplate.repository.HttpCookieOAuth2AuthorizationRequestRepository;
+import com.java.coreTemplate.utility.AuthorizationRequestCodec;
+import com.java.coreTemplate.utility.CompactAuthorizationRequestCodec;
+import com.java.coreTemplate.utility.JavaSerializationAuthorizationRequestCodec;
+import jakarta.servlet.http.Cookie;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+import org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static com.java.coreTemplate.repository.HttpCookieOAuth2AuthorizationRequestRepository.OAUTH2_AUTHORIZATION_REQUEST_COOKIE_NAME;
+
+/**
+ * Round trip of the OAuth2 authorization request through its cookie, measured through
+ * the repository's public save and load methods. Mock request and response creation
+ * is part of each operation, so compare results between runs rather than in isolation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AuthorizationRequestCookieBenchmark {
+
+    @Param({"java", "compact", "compact-deflate"})
+    private String codec;
+
+    private HttpCookieOAuth2AuthorizationRequestRepository repository;
+    private OAuth2AuthorizationRequest authorizationRequest;
+    private Cookie cookie;
+
+    @Setup
+    public void setUp() {
+        repository = new HttpCookieOAuth2AuthorizationRequestRepository(codec());
+        authorizationRequest = OAuth2AuthorizationRequest.authorizationCode()
+                .authorizationUri("https://github.com/login/oauth/authorize")
+                .clientId("Ov23li0Ep6l2h3OmNSMo")
+                .redirectUri("http://localhost:8080/login/oauth2/code/github")
+                .scopes(Set.of("read:user", "user:email"))
+                .state("bq3Hs2K0tBq8XsWQ1f9m6yA4cZ7pLr5vN2dEoUjTgKw=")
+                .attributes(Map.of(OAuth2ParameterNames.REGISTRATION_ID, "github"))
+                .build();
+        cookie = save();
+    }
+
+    @Benchmark
+    public Cookie serialize() {
+        return save();
+    }
+
+    @Benchmark
+    public OAuth2AuthorizationRequest deserialize() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(cookie);
+        return repository.loadAuthorizationRequest(request);
+    }
+
+    private AuthorizationRequestCodec codec() {
+        return switch (codec) {
+            case "java" -> new JavaSerializationAuthorizationRequestCodec();
+            case "compact" -> new CompactAuthorizationRequestCodec(cookieKey(), false);
+            case "compact-deflate" -> new CompactAuthorizationRequestCodec(cookieKey(), true);
+            default -> throw new IllegalArgumentException(codec);
+        };
+    }
+
+    // Same derivation as OAuth2CookieConfig when no cookie secret of its own is set
+    private static byte[] cookieKey() {
+        return CompactAuthorizationRequestCodec.deriveKey(BenchmarkSupport.JWT_SECRET, "oauth2-cookie");
+    }
+
+    private Cookie save() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        repository.saveAuthorizationRequest(authorizationRequest, new MockHttpServletRequest(), response);
+        return response.getCookie(OAUTH2_AUTHORIZATION_REQUEST_COOKIE_NAME);
+    }
+}
@@ -0,0 +1,45 @@
+package com.java.coreTemplate.benchmark;
+
+import com.java.coreTemplate.model.dto.UserPrincipal;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the beans under test in a minimal Spring context, so {@code @Value} fields
+ * and {@code @PostConstruct} hooks run exactly as they do in the application.
+ */
+final class BenchmarkSupport {
+
+    // 64 bytes, used raw by JwtTokenProvider like any app.jwt.secret; HS256 needs 32
+    static final String JWT_SECRET = "YmVuY2htYXJrYmVuY2htYXJrYmVuY2htYXJrYmVuY2htYXJrYmVuY2htYXJrYmVu";
+    static final long JWT_EXPIRATION_MS = 3_600_000L;
+
+    private BenchmarkSupport() {
+    }
+
+    static AnnotationConfigApplicationContext context(Map<String, Object> properties, Class<?>... beans) {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources()
+                .addFirst(new MapPropertySource("benchmark", properties));
+        context.register(beans);
+        context.refresh();
+        return context;
+    }
+
+    static Map<String, Object> jwtProperties(int claimsCacheMaxSize) {
+        return Map.of(
+                "app.jwt.secret", JWT_SECRET,
+                "app.jwt.expiration", JWT_EXPIRATION_MS,
+                "app.jwt.cache.max-size", claimsCacheMaxSize
+        );
+    }
+
+    static UserPrincipal principal() {
+        return new UserPrincipal(42L, "user@example.com", null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN")));
+    }
+}
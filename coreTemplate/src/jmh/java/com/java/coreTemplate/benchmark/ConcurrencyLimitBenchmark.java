@@ -0,0 +1,248 @@
+package com.java.coreTemplate.benchmark;
+
+import com.java.coreTemplate.config.ExecutionConfig;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.client.RestTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.embedded.EmbeddedWebServerFactoryCustomizerAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test for the request path through {@link ExecutionConfig}: a real embedded Tomcat
+ * with the {@code ConcurrencyLimitFilter} registration, a 20-connection Hikari pool (H2
+ * in memory) and the pooled outbound client calling a stub provider. Each operation
+ * fires {@code burst} simultaneous HTTP requests; each one holds a connection for
+ * {@code holdMs} inside a transaction and then calls the provider, which answers after
+ * {@code providerMs}. The Hikari wait is cut to its 250 ms minimum and the limiter wait
+ * to 50 ms so one burst takes milliseconds rather than the real 30 s and 1 s.
+ * <p>
+ * Read the {@code poolTimeouts} and {@code rejected} counters next to the time. Without
+ * the limiter ({@code maxRequests = 0}) the tail of the burst waits on the pool until it
+ * times out and fails with 500. With it, those requests get 503 quickly and the pool
+ * never times out. {@code threads} switches Tomcat and the outbound client between
+ * platform and virtual threads with {@code spring.threads.virtual.enabled}. Run with one
+ * benchmark thread, since the burst is already concurrent:
+ * {@code mvn -Pjmh compile exec:exec -Djmh.args="ConcurrencyLimit -f 1 -t 1"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ConcurrencyLimitBenchmark {
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    @Param({"0", "20"})
+    private int maxRequests;
+
+    @Param({"200"})
+    private int burst;
+
+    @Param({"50"})
+    private long holdMs;
+
+    @Param({"20"})
+    private long providerMs;
+
+    private HttpServer provider;
+    private ExecutorService providerThreads;
+    private ConfigurableApplicationContext application;
+    private HttpClient client;
+    private ExecutorService clientThreads;
+    private URI endpoint;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+        public long completed;
+        public long rejected;
+        public long poolTimeouts;
+        public long other;
+    }
+
+    @Setup
+    public void setUp() throws Exception {
+        providerThreads = Executors.newVirtualThreadPerTaskExecutor();
+        provider = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        provider.setExecutor(providerThreads);
+        provider.createContext("/userinfo", exchange -> {
+            try {
+                Thread.sleep(providerMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        provider.start();
+
+        // Command-line arguments, so they win over application.yml; the profile keeps
+        // application-local.yml and its PostgreSQL datasource out
+        application = new SpringApplicationBuilder(LoadTestApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .logStartupInfo(false)
+                .run(
+                        "--spring.profiles.active=load-test",
+                        "--server.port=0",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        // Pool timeouts are counted, not logged with a stack trace each
+                        "--logging.level.org.apache.catalina.core=OFF",
+                        "--spring.threads.virtual.enabled=" + "virtual".equals(threads),
+                        // Enough platform workers for the whole burst, so the pool and the
+                        // limiter are what bound it, as they would with virtual threads
+                        "--server.tomcat.threads.max=" + burst,
+                        // A backlog for the whole burst, or connects beyond it wait for a SYN retry
+                        "--server.tomcat.accept-count=" + burst,
+                        "--spring.datasource.url=jdbc:h2:mem:load-test;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.hikari.maximum-pool-size=20",
+                        "--spring.datasource.hikari.minimum-idle=20",
+                        "--spring.datasource.hikari.connection-timeout=250",
+                        "--app.concurrency.max-requests=" + maxRequests,
+                        "--app.concurrency.acquire-timeout-ms=50",
+                        "--load-test.hold-ms=" + holdMs,
+                        "--load-test.provider-uri=http://127.0.0.1:" + provider.getAddress().getPort() + "/userinfo");
+        int port = ((ServletWebServerApplicationContext) application).getWebServer().getPort();
+        endpoint = URI.create("http://127.0.0.1:" + port + "/load");
+
+        clientThreads = Executors.newVirtualThreadPerTaskExecutor();
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientThreads)
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        application.close();
+        provider.stop(0);
+        providerThreads.shutdownNow();
+        clientThreads.shutdownNow();
+    }
+
+    @Benchmark
+    public void burst(Outcomes outcomes) {
+        HttpRequest request = HttpRequest.newBuilder(endpoint).GET().build();
+        List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(burst);
+        for (int i = 0; i < burst; i++) {
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+        }
+        for (CompletableFuture<HttpResponse<Void>> response : responses) {
+            switch (response.join().statusCode()) {
+                case 200 -> outcomes.completed++;
+                case 503 -> outcomes.rejected++;
+                case 500 -> outcomes.poolTimeouts++;
+                default -> outcomes.other++;
+            }
+        }
+    }
+
+    /**
+     * Only what the request path needs: the web server, the JDBC pool and transactions,
+     * and {@link ExecutionConfig} itself, with its filter and outbound client.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ImportAutoConfiguration({
+            PropertyPlaceholderAutoConfiguration.class,
+            EmbeddedWebServerFactoryCustomizerAutoConfiguration.class,
+            ServletWebServerFactoryAutoConfiguration.class,
+            DispatcherServletAutoConfiguration.class,
+            WebMvcAutoConfiguration.class,
+            HttpMessageConvertersAutoConfiguration.class,
+            JacksonAutoConfiguration.class,
+            RestTemplateAutoConfiguration.class,
+            DataSourceAutoConfiguration.class,
+            DataSourceTransactionManagerAutoConfiguration.class,
+            JdbcTemplateAutoConfiguration.class,
+            TransactionAutoConfiguration.class
+    })
+    @Import({ExecutionConfig.class, LoadTestController.class})
+    static class LoadTestApplication {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    /**
+     * Shaped like an authenticated request: a transaction that holds a pooled
+     * connection, then a provider call made outside it.
+     */
+    @RestController
+    static class LoadTestController {
+        private final JdbcTemplate jdbcTemplate;
+        private final TransactionTemplate transactionTemplate;
+        private final RestTemplate outboundRestTemplate;
+        private final long holdMs;
+        private final String providerUri;
+
+        LoadTestController(JdbcTemplate jdbcTemplate,
+                           TransactionTemplate transactionTemplate,
+                           RestTemplate outboundRestTemplate,
+                           @Value("${load-test.hold-ms}") long holdMs,
+                           @Value("${load-test.provider-uri}") String providerUri) {
+            this.jdbcTemplate = jdbcTemplate;
+            this.transactionTemplate = transactionTemplate;
+            this.outboundRestTemplate = outboundRestTemplate;
+            this.holdMs = holdMs;
+            this.providerUri = providerUri;
+        }
+
+        @GetMapping("/load")
+        String load() {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+                try {
+                    Thread.sleep(holdMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            return outboundRestTemplate.getForObject(providerUri, String.class);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.java.coreTemplate.benchmark;
+
+import com.java.coreTemplate.model.dto.JwtTokenProvider;
+import com.java.coreTemplate.model.dto.UserPrincipal;
+import com.java.coreTemplate.model.dto.VerifiedToken;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Issue and verify throughput of {@link JwtTokenProvider}. The {@code legacy*} methods
+ * reproduce the previous code path, which derived the key and built a parser on
+ * every call, so both can be compared in one run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JwtTokenBenchmark {
+
+    private AnnotationConfigApplicationContext uncachedContext;
+    private AnnotationConfigApplicationContext cachedContext;
+    private JwtTokenProvider provider;
+    private JwtTokenProvider cachedProvider;
+
+    private Authentication authentication;
+    private UserPrincipal principal;
+    private String providerToken;
+
+    @Setup
+    public void setUp() {
+        uncachedContext = BenchmarkSupport.context(BenchmarkSupport.jwtProperties(0),
+                JwtTokenProvider.class);
+        cachedContext = BenchmarkSupport.context(BenchmarkSupport.jwtProperties(10_000),
+                JwtTokenProvider.class);
+        provider = uncachedContext.getBean(JwtTokenProvider.class);
+        cachedProvider = cachedContext.getBean(JwtTokenProvider.class);
+
+        principal = BenchmarkSupport.principal();
+        authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        providerToken = provider.generateToken(authentication);
+    }
+
+    @TearDown
+    public void tearDown() {
+        uncachedContext.close();
+        cachedContext.close();
+    }
+
+    @Benchmark
+    public String issue() {
+        return provider.generateToken(authentication);
+    }
+
+    @Benchmark
+    public String legacyIssue() {
+        List<String> roles = principal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+        return Jwts.builder()
+                .subject(principal.getName())
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + BenchmarkSupport.JWT_EXPIRATION_MS))
+                .claim("email", principal.getEmail())
+                .claim("roles", roles)
+                .signWith(legacyKey())
+                .compact();
+    }
+
+    @Benchmark
+    public boolean validate() {
+        return provider.validateToken(providerToken);
+    }
+
+    @Benchmark
+    public Optional<VerifiedToken> verify() {
+        return provider.verify(providerToken);
+    }
+
+    @Benchmark
+    public Optional<VerifiedToken> verifyCached() {
+        return cachedProvider.verify(providerToken);
+    }
+
+    // validateToken followed by getUsernameFromToken, as the filter used to do it
+    @Benchmark
+    public String legacyVerify() {
+        Jwts.parser().verifyWith(legacyKey()).build().parseSignedClaims(providerToken);
+        return Jwts.parser().verifyWith(legacyKey()).build()
+                .parseSignedClaims(providerToken)
+                .getPayload()
+                .getSubject();
+    }
+
+    private static SecretKey legacyKey() {
+        return Keys.hmacShaKeyFor(BenchmarkSupport.JWT_SECRET.getBytes());
+    }
+}
@@ -0,0 +1,85 @@
+package com.java.coreTemplate.benchmark;
+
+import com.java.coreTemplate.config.RoleAuthorizationManager;
+import com.java.coreTemplate.model.dto.UserPrincipal;
+import com.java.coreTemplate.model.entity.Role;
+import com.java.coreTemplate.model.entity.RoleName;
+import com.java.coreTemplate.model.entity.User;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning a loaded {@link User} into a principal, including the
+ * role-to-authority mapping done for every authenticated request, and of the
+ * {@code /api/moderator/**} check for an admin: Spring's {@code hasRole} against the
+ * role-mask {@link RoleAuthorizationManager}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class UserPrincipalBenchmark {
+
+    private User user;
+    private User admin;
+    private Authentication adminAuthentication;
+    private RequestAuthorizationContext context;
+    private AuthorizationManager<RequestAuthorizationContext> hasRole;
+    private AuthorizationManager<RequestAuthorizationContext> roleMask;
+
+    @Setup
+    public void setUp() {
+        user = user(1L, RoleName.ROLE_USER);
+        admin = user(2L, RoleName.values());
+        UserPrincipal principal = UserPrincipal.create(user(3L, RoleName.ROLE_USER, RoleName.ROLE_ADMIN));
+        adminAuthentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        context = new RequestAuthorizationContext(null);
+        hasRole = AuthorityAuthorizationManager.hasRole("MODERATOR");
+        roleMask = RoleAuthorizationManager.hasAnyRole(RoleName.ROLE_MODERATOR);
+    }
+
+    @Benchmark
+    public UserPrincipal createUser() {
+        return UserPrincipal.create(user);
+    }
+
+    @Benchmark
+    public UserPrincipal createAllRoles() {
+        return UserPrincipal.create(admin);
+    }
+
+    @Benchmark
+    public boolean authorizeHasRole() {
+        return hasRole.authorize(() -> adminAuthentication, context).isGranted();
+    }
+
+    @Benchmark
+    public boolean authorizeRoleMask() {
+        return roleMask.authorize(() -> adminAuthentication, context).isGranted();
+    }
+
+    private static User user(Long id, RoleName... roleNames) {
+        Set<Role> roles = new HashSet<>();
+        for (RoleName roleName : roleNames) {
+            Role role = new Role();
+            role.setId((long) roleName.ordinal() + 1);
+            role.setName(roleName);
+            roles.add(role);
+        }
+        User user = new User();
+        user.setId(id);
+        user.setUsername("user" + id);
+        user.setEmail("user" + id + "@example.com");
+        user.setRoles(roles);
+        return user;
+    }
+}
@@ -3,47 +3,85 @@ package com.java.coreTemplate.config;
 import com.java.coreTemplate.model.dto.UserPrincipal;
 import com.java.coreTemplate.model.entity.RoleName;
 import com.java.coreTemplate.model.entity.User;
-import com.java.coreTemplate.repository.RoleRepository;
 import com.java.coreTemplate.repository.UserRepository;
-import org.springframework.beans.factory.annotation.Autowired;
+import com.java.coreTemplate.service.RoleCache;
 import org.springframework.security.oauth2.client.userinfo.DefaultOAuth2UserService;
 import org.springframework.security.oauth2.client.userinfo.OAuth2UserRequest;
 import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import org.springframework.security.oauth2.core.OAuth2Error;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.Set;
+import java.util.Optional;
 
+/**
+ * Maps a provider login to a local user, keyed by {@code (oauth_provider, oauth_id)}.
+ * A returning user costs one indexed lookup. A first login inserts the user with
+ * {@code INSERT ... ON CONFLICT DO NOTHING} and reads it back in one transaction, so
+ * concurrent first logins of the same identity end up with the same single row, and
+ * only the transaction that inserted it grants the default role.
+ * <p>
+ * A first login whose email already belongs to an account signs in as that account,
+ * the oldest one if several share it, instead of creating a second user with the same
+ * email. Such logins keep costing the email lookup, since the account stays keyed by
+ * its original provider identity.
+ */
 @Service
 public class CustomOAuth2UserService extends DefaultOAuth2UserService {
-    @Autowired
-    private UserRepository userRepository;
-    @Autowired
-    private RoleRepository roleRepository;
+    private final UserRepository userRepository;
+    private final RoleCache roleCache;
+    private final TransactionTemplate transactionTemplate;
 
+    public CustomOAuth2UserService(UserRepository userRepository,
+                                   RoleCache roleCache,
+                                   PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.roleCache = roleCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
 
     @Override
     public OAuth2User loadUser(OAuth2UserRequest userRequest) throws OAuth2AuthenticationException {
         OAuth2User oAuth2User = super.loadUser(userRequest);
 
         String provider = userRequest.getClientRegistration().getRegistrationId();
-        String providerId = oAuth2User.getAttribute("sub") != null ?
+        // "sub" for OpenID Connect providers; GitHub sends a numeric "id"
+        Object subject = oAuth2User.getAttribute("sub") != null ?
                 oAuth2User.getAttribute("sub") : oAuth2User.getAttribute("id");
+        if (subject == null) {
+            throw new OAuth2AuthenticationException(new OAuth2Error("invalid_user_info_response"),
+                    "The provider returned no user id");
+        }
+        String providerId = String.valueOf(subject);
         String email = oAuth2User.getAttribute("email");
         String name = oAuth2User.getAttribute("name");
 
-        User user = userRepository.findByEmail(email)
-                .orElseGet(() -> {
-                    User newUser = new User();
-                    newUser.setUsername(name);
-                    newUser.setEmail(email);
-                    newUser.setOauthProvider(provider);
-                    newUser.setOauthId(providerId);
-                    newUser.setRoles(Set.of(roleRepository.findByName(RoleName.ROLE_USER)
-                            .orElseThrow(() -> new RuntimeException("Error: Role not found."))));
-                    return userRepository.save(newUser);
-                });
+        // The provider call above stays outside any transaction, so no connection is held during it
+        User user = userRepository.findByOauthProviderAndOauthId(provider, providerId)
+                .orElseGet(() -> register(provider, providerId, name, email));
 
         return UserPrincipal.create(user, oAuth2User.getAttributes());
     }
-}
\ No newline at end of file
+
+    private User register(String provider, String providerId, String name, String email) {
+        return transactionTemplate.execute(status -> {
+            if (email != null) {
+                Optional<User> existing = userRepository.findFirstByEmailOrderByIdAsc(email);
+                if (existing.isPresent()) {
+                    return existing.get();
+                }
+            }
+            int inserted = userRepository.insertIfAbsent(provider, providerId, name, email);
+            User user = userRepository.findByOauthProviderAndOauthId(provider, providerId)
+                    .orElseThrow(() -> new IllegalStateException(
+                            "User " + provider + "/" + providerId + " missing after insert"));
+            if (inserted > 0) {
+                // Flushed into user_roles when the transaction commits
+                user.getRoles().add(roleCache.get(RoleName.ROLE_USER));
+            }
+            return user;
+        });
+    }
+}
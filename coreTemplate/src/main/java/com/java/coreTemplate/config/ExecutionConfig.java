@@ -0,0 +1,80 @@
+package com.java.coreTemplate.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/**
+ * Request execution limits and the outbound HTTP client.
+ * <p>
+ * Virtual threads are switched on with {@code spring.threads.virtual.enabled}, which
+ * moves the Tomcat request executor and {@code @Async} tasks onto them, and with them
+ * the outbound client's own work. Blocking JDBC and provider calls then park cheaply, so
+ * concurrency is bounded here instead: {@link ConcurrencyLimitFilter} admits at most
+ * {@code app.concurrency.max-requests} requests, by default the Hikari pool size. That
+ * default assumes no background task keeps a pooled connection for good; one that does,
+ * such as a LISTEN session, must open its connection outside the pool. The jmh profile's
+ * {@code ConcurrencyLimitBenchmark} load-tests this path end to end.
+ */
+@Configuration
+public class ExecutionConfig {
+    @Value("${app.http.connect-timeout-ms:2000}")
+    private long connectTimeoutMs;
+
+    @Value("${app.http.read-timeout-ms:5000}")
+    private long readTimeoutMs;
+
+    @Value("${app.concurrency.max-requests:${spring.datasource.hikari.maximum-pool-size:20}}")
+    private int maxConcurrentRequests;
+
+    @Value("${app.concurrency.acquire-timeout-ms:1000}")
+    private long acquireTimeoutMs;
+
+    /**
+     * One client for all outbound calls: it keeps connections alive between requests and
+     * bounds how long a connect may take.
+     */
+    @Bean
+    public HttpClient outboundHttpClient(Environment environment) {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NORMAL);
+        if (Threading.VIRTUAL.isActive(environment)) {
+            builder.executor(Executors.newVirtualThreadPerTaskExecutor());
+        }
+        return builder.build();
+    }
+
+    // Built from the Boot builder so outbound calls get the usual converters and metrics
+    @Bean
+    public RestTemplate outboundRestTemplate(RestTemplateBuilder builder, HttpClient outboundHttpClient) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(outboundHttpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+        return builder.requestFactory(() -> requestFactory).build();
+    }
+
+    /**
+     * Runs ahead of Spring Security so rejected requests cost no authentication work.
+     * A non-positive {@code max-requests} disables the limit.
+     */
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(Math.max(maxConcurrentRequests, 1), acquireTimeoutMs, meterRegistry));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        registration.setEnabled(maxConcurrentRequests > 0);
+        return registration;
+    }
+}
@@ -1,11 +1,13 @@
 package com.java.coreTemplate.config;
 
 import com.java.coreTemplate.model.dto.JwtTokenProvider;
+import com.java.coreTemplate.model.dto.UserPrincipal;
+import com.java.coreTemplate.model.dto.VerifiedToken;
+import com.java.coreTemplate.utility.UserDetailsCache;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -14,15 +16,22 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import java.io.IOException;
+import java.util.Optional;
 
 public class JwtTokenFilter extends OncePerRequestFilter {
-    @Autowired
-    private JwtTokenProvider jwtTokenProvider;
-    @Autowired
-    private UserDetailsService userDetailsService;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final UserDetailsService userDetailsService;
+    private final UserDetailsCache userDetailsCache;
+    private final boolean stateless;
 
-    public JwtTokenFilter(JwtTokenProvider jwtTokenProvider) {
+    public JwtTokenFilter(JwtTokenProvider jwtTokenProvider,
+                          UserDetailsService userDetailsService,
+                          UserDetailsCache userDetailsCache,
+                          boolean stateless) {
         this.jwtTokenProvider = jwtTokenProvider;
+        this.userDetailsService = userDetailsService;
+        this.userDetailsCache = userDetailsCache;
+        this.stateless = stateless;
     }
 
     @Override
@@ -31,10 +40,9 @@ public class JwtTokenFilter extends OncePerRequestFilter {
                                     FilterChain filterChain) throws ServletException, IOException {
         String token = getJwtFromRequest(request);
 
-        if (token != null && jwtTokenProvider.validateToken(token)) {
-            String username = jwtTokenProvider.getUsernameFromToken(token);
-
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        Optional<VerifiedToken> verified = token != null ? jwtTokenProvider.verify(token) : Optional.empty();
+        if (verified.isPresent()) {
+            UserDetails userDetails = loadUser(verified.get());
             UsernamePasswordAuthenticationToken authentication =
                     new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
 
@@ -45,6 +53,14 @@ public class JwtTokenFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    // In stateless mode the roles claim is trusted until the token expires
+    private UserDetails loadUser(VerifiedToken token) {
+        if (stateless) {
+            return UserPrincipal.create(token);
+        }
+        return userDetailsCache.get(token.getSubject(), userDetailsService::loadUserByUsername);
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -52,4 +68,4 @@ public class JwtTokenFilter extends OncePerRequestFilter {
         }
         return null;
     }
-}
\ No newline at end of file
+}
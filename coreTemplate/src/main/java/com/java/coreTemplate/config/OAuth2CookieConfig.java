@@ -0,0 +1,45 @@
+package com.java.coreTemplate.config;
+
+import com.java.coreTemplate.utility.AuthorizationRequestCodec;
+import com.java.coreTemplate.utility.CompactAuthorizationRequestCodec;
+import com.java.coreTemplate.utility.JavaSerializationAuthorizationRequestCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.charset.StandardCharsets;
+
+@Configuration
+public class OAuth2CookieConfig {
+    @Value("${app.oauth2.cookie.codec:compact}")
+    private String codec;
+
+    @Value("${app.oauth2.cookie.compress:true}")
+    private boolean compress;
+
+    @Value("${app.oauth2.cookie.secret:}")
+    private String secret;
+
+    @Value("${app.jwt.secret}")
+    private String jwtSecret;
+
+    /**
+     * "compact" is the signed binary format, "java" keeps the old serialized cookies.
+     * Without its own {@code app.oauth2.cookie.secret}, the compact codec signs with a
+     * key derived from the JWT secret, never with the JWT signing key itself.
+     */
+    @Bean
+    public AuthorizationRequestCodec authorizationRequestCodec() {
+        return switch (codec) {
+            case "compact" -> new CompactAuthorizationRequestCodec(cookieKey(), compress);
+            case "java" -> new JavaSerializationAuthorizationRequestCodec();
+            default -> throw new IllegalArgumentException("Unknown app.oauth2.cookie.codec: " + codec);
+        };
+    }
+
+    private byte[] cookieKey() {
+        return secret.isBlank()
+                ? CompactAuthorizationRequestCodec.deriveKey(jwtSecret, "oauth2-cookie")
+                : secret.getBytes(StandardCharsets.UTF_8);
+    }
+}
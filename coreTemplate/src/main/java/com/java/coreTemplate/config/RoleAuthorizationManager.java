@@ -0,0 +1,57 @@
+package com.java.coreTemplate.config;
+
+import com.java.coreTemplate.model.dto.RoleAuthorities;
+import com.java.coreTemplate.model.dto.UserPrincipal;
+import com.java.coreTemplate.model.entity.RoleName;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import java.util.function.Supplier;
+
+/**
+ * Grants a request when the user holds any of the given roles. For a
+ * {@link UserPrincipal} this is one {@code &} of its role mask against the required
+ * mask, instead of the string comparison over every authority that
+ * {@code hasRole(...)} does. Other principals fall back to mapping their authorities
+ * to a mask. Like {@code hasRole(...)}, unauthenticated requests are denied.
+ */
+public class RoleAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext> {
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+
+    private final int requiredMask;
+
+    private RoleAuthorizationManager(int requiredMask) {
+        this.requiredMask = requiredMask;
+    }
+
+    public static RoleAuthorizationManager hasAnyRole(RoleName... roles) {
+        return new RoleAuthorizationManager(RoleAuthorities.mask(roles));
+    }
+
+    @Override
+    public AuthorizationResult authorize(Supplier<Authentication> authentication,
+                                         RequestAuthorizationContext context) {
+        return isGranted(authentication.get()) ? GRANTED : DENIED;
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public AuthorizationDecision check(Supplier<Authentication> authentication,
+                                       RequestAuthorizationContext context) {
+        return isGranted(authentication.get()) ? GRANTED : DENIED;
+    }
+
+    private boolean isGranted(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return false;
+        }
+        if (authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.hasAnyRole(requiredMask);
+        }
+        return (RoleAuthorities.maskOfAuthorities(authentication.getAuthorities()) & requiredMask) != 0;
+    }
+}
@@ -3,13 +3,18 @@ package com.java.coreTemplate.config;
 
 import com.java.coreTemplate.model.dto.JwtTokenProvider;
 import com.java.coreTemplate.model.dto.OAuth2AuthenticationSuccessHandler;
+import com.java.coreTemplate.model.entity.RoleName;
+import com.java.coreTemplate.repository.HttpCookieOAuth2AuthorizationRequestRepository;
+import com.java.coreTemplate.utility.UserDetailsCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
@@ -22,6 +27,18 @@ public class SecurityConfig {
     private CustomOAuth2UserService customOAuth2UserService;
     @Autowired
     private OAuth2AuthenticationSuccessHandler oauth2SuccessHandler;
+    @Autowired
+    private UserDetailsService userDetailsService;
+    @Autowired
+    private HttpCookieOAuth2AuthorizationRequestRepository authorizationRequestRepository;
+
+    @Value("${app.jwt.stateless:false}")
+    private boolean statelessJwt;
+    @Value("${app.jwt.user-cache.ttl-ms:0}")
+    private long userCacheTtlMs;
+    @Value("${app.jwt.user-cache.max-size:10000}")
+    private int userCacheMaxSize;
+
    @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -31,18 +48,27 @@ public class SecurityConfig {
                 )
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/auth/**", "/oauth2/**").permitAll()
-                        .requestMatchers("/api/admin/**").hasRole("ADMIN")
-                        .requestMatchers("/api/moderator/**").hasRole("MODERATOR")
+                        // Bit checks against UserPrincipal's role mask, see RoleAuthorizationManager
+                        .requestMatchers("/api/admin/**").access(RoleAuthorizationManager.hasAnyRole(RoleName.ROLE_ADMIN))
+                        .requestMatchers("/api/moderator/**").access(RoleAuthorizationManager.hasAnyRole(RoleName.ROLE_MODERATOR))
                         .anyRequest().authenticated()
                 )
                 .oauth2Login(oauth2 -> oauth2
+                        .authorizationEndpoint(authorization -> authorization
+                                .authorizationRequestRepository(authorizationRequestRepository)
+                        )
                         .userInfoEndpoint(userInfo -> userInfo
                                 .userService(customOAuth2UserService)
                         )
                         .successHandler(oauth2SuccessHandler)
                 )
-                .addFilterBefore(new JwtTokenFilter(jwtTokenProvider), UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtTokenFilter(), UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
+
+    private JwtTokenFilter jwtTokenFilter() {
+        return new JwtTokenFilter(jwtTokenProvider, userDetailsService,
+                new UserDetailsCache(userCacheTtlMs, userCacheMaxSize), statelessJwt);
+    }
 }
\ No newline at end of file
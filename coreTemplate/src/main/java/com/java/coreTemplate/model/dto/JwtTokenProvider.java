@@ -1,29 +1,56 @@
 package com.java.coreTemplate.model.dto;
 
 
+import com.java.coreTemplate.utility.JwtClaimsCache;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
-import java.security.Key;
+import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
+/**
+ * The application's only token service: issues and verifies the HS256 tokens used by
+ * the login and the authentication filter. The key is the raw bytes of
+ * {@code app.jwt.secret}, as it has always been, so tokens already issued stay valid.
+ */
 @Component
 public class JwtTokenProvider {
+    // HS256 needs a key of at least 256 bits
+    private static final int MIN_SECRET_BYTES = 32;
+
     @Value("${app.jwt.secret}")
     private String jwtSecret;
 
     @Value("${app.jwt.expiration}")
     private int jwtExpirationMs;
 
-    private Key key() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    @Value("${app.jwt.cache.max-size:10000}")
+    private int claimsCacheMaxSize;
+
+    // Key and parser are immutable and thread-safe, so they are built once per secret
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+    private JwtClaimsCache claimsCache;
+
+    @PostConstruct
+    void init() {
+        byte[] secret = jwtSecret.getBytes(StandardCharsets.UTF_8);
+        if (secret.length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("app.jwt.secret is " + secret.length + " bytes; HS256 needs at least "
+                    + MIN_SECRET_BYTES + ". Set app.jwt.secret (or APP_JWT_SECRET) to a random value of 32 bytes or more.");
+        }
+        signingKey = Keys.hmacShaKeyFor(secret);
+        jwtParser = Jwts.parser().verifyWith(signingKey).build();
+        claimsCache = new JwtClaimsCache(claimsCacheMaxSize);
     }
 
     public String generateToken(Authentication authentication) {
@@ -37,27 +64,39 @@ public class JwtTokenProvider {
                 .subject(userPrincipal.getName())
                 .issuedAt(new Date())
                 .expiration(new Date((new Date()).getTime() + jwtExpirationMs))
+                .claim("email", userPrincipal.getEmail())
                 .claim("roles", roles)
-                .signWith(key())
+                .signWith(signingKey)
                 .compact();
     }
 
-    public String getUsernameFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith((SecretKey) key())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getSubject();
-    }
-
-    public boolean validateToken(String token) {
+    /**
+     * Verifies the token once and returns its claims. Verified tokens are cached until
+     * they expire, so repeated requests with the same token skip parsing and HMAC checks.
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        VerifiedToken cached = claimsCache.get(token);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
         try {
-            Jwts.parser().verifyWith((SecretKey) key()).build().parseSignedClaims(token);
-            return true;
+            Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+            VerifiedToken verified = VerifiedToken.from(claims);
+            claimsCache.put(token, verified);
+            return Optional.of(verified);
         } catch (JwtException | IllegalArgumentException e) {
             // Log exception
         }
-        return false;
+        return Optional.empty();
+    }
+
+    public String getUsernameFromToken(String token) {
+        return verify(token)
+                .map(VerifiedToken::getSubject)
+                .orElseThrow(() -> new JwtException("Invalid JWT token"));
+    }
+
+    public boolean validateToken(String token) {
+        return verify(token).isPresent();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,105 @@
+package com.java.coreTemplate.model.dto;
+
+import com.java.coreTemplate.model.entity.Role;
+import com.java.coreTemplate.model.entity.RoleName;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Interned authorities for the closed set of {@link RoleName}s. Each role is one bit
+ * of an {@code int} mask, and the unmodifiable authority list of every possible mask is
+ * built once, so principals with the same roles share one list instead of allocating
+ * their own. Role checks become a single {@code &} on the mask.
+ */
+public final class RoleAuthorities {
+    private static final RoleName[] ROLES = RoleName.values();
+    private static final GrantedAuthority[] AUTHORITIES = new GrantedAuthority[ROLES.length];
+    private static final List<List<GrantedAuthority>> BY_MASK;
+
+    static {
+        // One list per subset of roles, which stays small for a handful of roles
+        if (ROLES.length > 16) {
+            throw new IllegalStateException("Too many roles to intern every combination: " + ROLES.length);
+        }
+        for (RoleName role : ROLES) {
+            AUTHORITIES[role.ordinal()] = new SimpleGrantedAuthority(role.name());
+        }
+        List<List<GrantedAuthority>> byMask = new ArrayList<>(1 << ROLES.length);
+        for (int mask = 0; mask < 1 << ROLES.length; mask++) {
+            List<GrantedAuthority> authorities = new ArrayList<>(Integer.bitCount(mask));
+            for (RoleName role : ROLES) {
+                if ((mask & bit(role)) != 0) {
+                    authorities.add(AUTHORITIES[role.ordinal()]);
+                }
+            }
+            byMask.add(List.copyOf(authorities));
+        }
+        BY_MASK = List.copyOf(byMask);
+    }
+
+    private RoleAuthorities() {
+    }
+
+    public static int bit(RoleName role) {
+        return 1 << role.ordinal();
+    }
+
+    public static int mask(RoleName... roles) {
+        int mask = 0;
+        for (RoleName role : roles) {
+            mask |= bit(role);
+        }
+        return mask;
+    }
+
+    public static int maskOfRoles(Collection<Role> roles) {
+        int mask = 0;
+        for (Role role : roles) {
+            if (role.getName() != null) {
+                mask |= bit(role.getName());
+            }
+        }
+        return mask;
+    }
+
+    // Names that are not a RoleName, for example from an older token, grant nothing
+    public static int maskOfNames(Collection<String> names) {
+        int mask = 0;
+        for (String name : names) {
+            mask |= bitOf(name);
+        }
+        return mask;
+    }
+
+    public static int maskOfAuthorities(Collection<? extends GrantedAuthority> authorities) {
+        int mask = 0;
+        for (GrantedAuthority authority : authorities) {
+            mask |= bitOf(authority.getAuthority());
+        }
+        return mask;
+    }
+
+    public static GrantedAuthority authority(RoleName role) {
+        return AUTHORITIES[role.ordinal()];
+    }
+
+    public static List<GrantedAuthority> authorities(int mask) {
+        return BY_MASK.get(mask);
+    }
+
+    private static int bitOf(String name) {
+        if (name == null) {
+            return 0;
+        }
+        for (RoleName role : ROLES) {
+            if (role.name().equals(name)) {
+                return bit(role);
+            }
+        }
+        return 0;
+    }
+}
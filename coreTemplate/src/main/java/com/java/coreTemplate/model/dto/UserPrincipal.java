@@ -4,12 +4,10 @@ import com.java.coreTemplate.model.entity.User;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 
 import java.util.*;
-import java.util.stream.Collectors;
 @Setter
 @Getter
 public class UserPrincipal implements UserDetails, OAuth2User {
@@ -17,6 +15,8 @@ public class UserPrincipal implements UserDetails, OAuth2User {
     private final String email;
     private final String password;
     private final Collection<? extends GrantedAuthority> authorities;
+    // One bit per RoleName, see RoleAuthorities
+    private final int roleMask;
     private Map<String, Object> attributes;
 
     public UserPrincipal(Long id, String email, String password,
@@ -25,18 +25,37 @@ public class UserPrincipal implements UserDetails, OAuth2User {
         this.email = email;
         this.password = password;
         this.authorities = authorities;
+        this.roleMask = RoleAuthorities.maskOfAuthorities(authorities);
     }
 
-    public static UserPrincipal create(User user) {
-        List<GrantedAuthority> authorities = user.getRoles().stream()
-                .map(role -> new SimpleGrantedAuthority(role.getName().name()))
-                .collect(Collectors.toList());
+    // Shares the interned authority list for the mask instead of building one per principal
+    private UserPrincipal(Long id, String email, String password, int roleMask) {
+        this.id = id;
+        this.email = email;
+        this.password = password;
+        this.authorities = RoleAuthorities.authorities(roleMask);
+        this.roleMask = roleMask;
+    }
 
+    public static UserPrincipal create(User user) {
         return new UserPrincipal(
                 user.getId(),
                 user.getEmail(),
                 user.getPassword(),
-                authorities
+                RoleAuthorities.maskOfRoles(user.getRoles())
+        );
+    }
+
+    /**
+     * Rebuilds the principal from already verified token claims, without a database lookup.
+     * The subject is the user id written by {@link JwtTokenProvider#generateToken}.
+     */
+    public static UserPrincipal create(VerifiedToken token) {
+        return new UserPrincipal(
+                Long.valueOf(token.getSubject()),
+                token.getEmail(),
+                null,
+                RoleAuthorities.maskOfNames(token.getRoles())
         );
     }
 
@@ -98,6 +117,10 @@ public class UserPrincipal implements UserDetails, OAuth2User {
     }
 
     // Custom methods
+    public boolean hasAnyRole(int mask) {
+        return (roleMask & mask) != 0;
+    }
+
     public Long getId() {
         return id;
     }
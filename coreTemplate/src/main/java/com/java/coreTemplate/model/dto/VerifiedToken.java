@@ -0,0 +1,46 @@
+package com.java.coreTemplate.model.dto;
+
+import io.jsonwebtoken.Claims;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Claims of a JWT whose signature has already been checked, so callers can read
+ * subject, roles and expiry without parsing the token again.
+ */
+@Getter
+@AllArgsConstructor
+public class VerifiedToken {
+    private final String subject;
+    private final String email;
+    private final List<String> roles;
+    private final Instant expiresAt;
+
+    public static VerifiedToken from(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return new VerifiedToken(
+                claims.getSubject(),
+                claims.get("email", String.class),
+                rolesOf(claims.get("roles")),
+                expiration != null ? expiration.toInstant() : null
+        );
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+
+    private static List<String> rolesOf(Object claim) {
+        if (!(claim instanceof Collection<?> values)) {
+            return List.of();
+        }
+        return values.stream()
+                .map(String::valueOf)
+                .toList();
+    }
+}
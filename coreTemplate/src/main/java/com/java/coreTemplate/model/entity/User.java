@@ -8,6 +8,8 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_user_oauth_provider_oauth_id",
+        columnNames = {"oauth_provider", "oauth_id"}))
 @Setter
 @Getter
 public class User {
@@ -18,7 +20,10 @@ public class User {
     private String username;
     private String email;
     private String password;
+    // One account per provider identity; CustomOAuth2UserService upserts against this key
+    @Column(name = "oauth_provider")
     private String oauthProvider;
+    @Column(name = "oauth_id")
     private String oauthId;
 
     @ManyToMany(fetch = FetchType.EAGER)
@@ -0,0 +1,183 @@
+package com.java.coreTemplate.repository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory session registry with idle and absolute expiry.
+ * <p>
+ * Sessions are spread over a fixed number of shards. A single background thread sweeps
+ * one shard per tick, so a full pass takes {@code sweep-interval-ms} and no timer is
+ * kept per session. A per-user index lets all sessions of a user be dropped at once.
+ */
+@Repository
+@ConditionalOnProperty(name = "app.session.store", havingValue = "memory", matchIfMissing = true)
+public class ExpiringSessionRegistry implements SessionStore {
+
+    private final ConcurrentHashMap<String, Session>[] shards;
+    private final ConcurrentHashMap<String, Set<String>> sessionsByUser = new ConcurrentHashMap<>();
+    private final long idleTtlMs;
+    private final long absoluteTtlMs;
+    private final ScheduledExecutorService sweeper;
+    private final Counter expiredSessions;
+    private int nextShard;
+
+    @SuppressWarnings("unchecked")
+    public ExpiringSessionRegistry(@Value("${app.session.idle-ttl-ms:1800000}") long idleTtlMs,
+                                   @Value("${app.session.absolute-ttl-ms:43200000}") long absoluteTtlMs,
+                                   @Value("${app.session.shards:16}") int shardCount,
+                                   @Value("${app.session.sweep-interval-ms:60000}") long sweepIntervalMs,
+                                   MeterRegistry meterRegistry) {
+        this.idleTtlMs = idleTtlMs;
+        this.absoluteTtlMs = absoluteTtlMs;
+        this.shards = new ConcurrentHashMap[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new ConcurrentHashMap<>();
+        }
+
+        Gauge.builder("sessions.active", this, ExpiringSessionRegistry::size)
+                .description("Live sessions held by this node")
+                .register(meterRegistry);
+        this.expiredSessions = Counter.builder("sessions.expired")
+                .description("Sessions removed by the sweeper or on access after expiry")
+                .register(meterRegistry);
+
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long tickMs = Math.max(1, sweepIntervalMs / shardCount);
+        sweeper.scheduleWithFixedDelay(this::sweepNextShard, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void register(String sessionId, String userId) {
+        long now = System.currentTimeMillis();
+        Session previous = shard(sessionId).put(sessionId, new Session(userId, now));
+        if (previous != null) {
+            unindex(sessionId, previous.userId);
+        }
+        index(sessionId, userId);
+    }
+
+    @Override
+    public Optional<String> touch(String sessionId) {
+        ConcurrentHashMap<String, Session> shard = shard(sessionId);
+        Session session = shard.get(sessionId);
+        if (session == null) {
+            return Optional.empty();
+        }
+        long now = System.currentTimeMillis();
+        if (isExpired(session, now)) {
+            expire(shard, sessionId, session);
+            return Optional.empty();
+        }
+        session.lastAccessedAt = now;
+        return Optional.of(session.userId);
+    }
+
+    @Override
+    public void invalidate(String sessionId) {
+        Session session = shard(sessionId).remove(sessionId);
+        if (session != null) {
+            unindex(sessionId, session.userId);
+        }
+    }
+
+    @Override
+    public int invalidateUser(String userId) {
+        Set<String> sessionIds = sessionsByUser.remove(userId);
+        if (sessionIds == null) {
+            return 0;
+        }
+        int removed = 0;
+        for (String sessionId : sessionIds) {
+            if (shard(sessionId).remove(sessionId) != null) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    public int size() {
+        int size = 0;
+        for (ConcurrentHashMap<String, Session> shard : shards) {
+            size += shard.size();
+        }
+        return size;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sweeper.shutdownNow();
+    }
+
+    private void sweepNextShard() {
+        ConcurrentHashMap<String, Session> shard = shards[nextShard];
+        nextShard = (nextShard + 1) % shards.length;
+
+        long now = System.currentTimeMillis();
+        shard.forEach((sessionId, session) -> {
+            if (isExpired(session, now)) {
+                expire(shard, sessionId, session);
+            }
+        });
+    }
+
+    private void expire(ConcurrentHashMap<String, Session> shard, String sessionId, Session session) {
+        if (shard.remove(sessionId, session)) {
+            unindex(sessionId, session.userId);
+            expiredSessions.increment();
+        }
+    }
+
+    private boolean isExpired(Session session, long now) {
+        return now - session.lastAccessedAt >= idleTtlMs || now - session.createdAt >= absoluteTtlMs;
+    }
+
+    // Both index updates run inside compute so a set is never dropped while being added to
+    private void index(String sessionId, String userId) {
+        sessionsByUser.compute(userId, (key, sessionIds) -> {
+            Set<String> ids = sessionIds != null ? sessionIds : ConcurrentHashMap.newKeySet();
+            ids.add(sessionId);
+            return ids;
+        });
+    }
+
+    private void unindex(String sessionId, String userId) {
+        sessionsByUser.computeIfPresent(userId, (key, sessionIds) -> {
+            sessionIds.remove(sessionId);
+            return sessionIds.isEmpty() ? null : sessionIds;
+        });
+    }
+
+    private ConcurrentHashMap<String, Session> shard(String sessionId) {
+        int hash = sessionId.hashCode();
+        return shards[((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % shards.length];
+    }
+
+    private static final class Session {
+        private final String userId;
+        private final long createdAt;
+        private volatile long lastAccessedAt;
+
+        private Session(String userId, long createdAt) {
+            this.userId = userId;
+            this.createdAt = createdAt;
+            this.lastAccessedAt = createdAt;
+        }
+    }
+}
@@ -1,17 +1,17 @@
 package com.java.coreTemplate.repository;
 
+import com.java.coreTemplate.utility.AuthorizationRequestCodec;
 import com.java.coreTemplate.utility.CookieUtils;
-import jakarta.servlet.http.Cookie;
+import com.java.coreTemplate.utility.JavaSerializationAuthorizationRequestCodec;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.oauth2.client.web.AuthorizationRequestRepository;
 import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
 import org.springframework.stereotype.Repository;
-import org.springframework.util.SerializationUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.web.util.WebUtils;
 
-import java.util.Base64;
 import java.util.Optional;
 @Repository
 public class HttpCookieOAuth2AuthorizationRequestRepository implements AuthorizationRequestRepository<OAuth2AuthorizationRequest> {
@@ -19,11 +19,21 @@ public class HttpCookieOAuth2AuthorizationRequestRepository implements Authoriza
     public static final String REDIRECT_URI_PARAM_COOKIE_NAME = "redirect_uri";
     private static final int cookieExpireSeconds = 180;
 
+    private final AuthorizationRequestCodec codec;
+
+    public HttpCookieOAuth2AuthorizationRequestRepository() {
+        this(new JavaSerializationAuthorizationRequestCodec());
+    }
+
+    @Autowired
+    public HttpCookieOAuth2AuthorizationRequestRepository(AuthorizationRequestCodec codec) {
+        this.codec = codec;
+    }
 
     @Override
     public OAuth2AuthorizationRequest loadAuthorizationRequest(HttpServletRequest request) {
         return Optional.ofNullable(WebUtils.getCookie(request, OAUTH2_AUTHORIZATION_REQUEST_COOKIE_NAME))
-                .map(cookie -> deserialize(cookie, OAuth2AuthorizationRequest.class))
+                .map(cookie -> codec.decode(cookie.getValue()))
                 .orElse(null);
     }
     @Override
@@ -36,7 +46,7 @@ public class HttpCookieOAuth2AuthorizationRequestRepository implements Authoriza
         }
 
         CookieUtils.addCookie(response, OAUTH2_AUTHORIZATION_REQUEST_COOKIE_NAME,
-                serialize(authorizationRequest), cookieExpireSeconds);
+                codec.encode(authorizationRequest), cookieExpireSeconds);
 
         String redirectUriAfterLogin = request.getParameter(REDIRECT_URI_PARAM_COOKIE_NAME);
         if (StringUtils.hasText(redirectUriAfterLogin)) {
@@ -58,12 +68,4 @@ public class HttpCookieOAuth2AuthorizationRequestRepository implements Authoriza
         CookieUtils.deleteCookie(request, response, OAUTH2_AUTHORIZATION_REQUEST_COOKIE_NAME);
         CookieUtils.deleteCookie(request, response, REDIRECT_URI_PARAM_COOKIE_NAME);
     }
-
-    private String serialize(Object object) {
-        return Base64.getUrlEncoder().encodeToString(SerializationUtils.serialize(object));
-    }
-
-    private <T> T deserialize(Cookie cookie, Class<T> cls) {
-        return cls.cast(SerializationUtils.deserialize(Base64.getUrlDecoder().decode(cookie.getValue())));
-    }
 }
\ No newline at end of file
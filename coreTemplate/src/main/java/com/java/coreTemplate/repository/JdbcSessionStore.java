@@ -0,0 +1,248 @@
+package com.java.coreTemplate.repository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Session store shared by all nodes through the {@code app_session} table.
+ * <p>
+ * Registration and invalidation are written immediately so every node sees them.
+ * Access times, the bulk of the writes, are coalesced per session and flushed as one
+ * JDBC batch every {@code app.session.jdbc.flush-interval-ms}; the idle timeout is
+ * therefore measured with up to one flush interval of slack. Expired rows are purged
+ * on the same schedule. Only portable SQL is used, so an embedded database such as
+ * H2 can stand in for PostgreSQL.
+ * <p>
+ * Every invalidation is also recorded in {@code app_session_invalidation}. When a
+ * listener is registered, that table is polled every
+ * {@code app.session.jdbc.invalidation-poll-ms}, so node-local caches learn about
+ * sessions revoked on other nodes within one poll.
+ */
+@Repository
+@ConditionalOnProperty(name = "app.session.store", havingValue = "jdbc")
+public class JdbcSessionStore implements SessionStore {
+    private static final Logger log = LoggerFactory.getLogger(JdbcSessionStore.class);
+    // How far each poll reaches back before the previous one, for clock skew between
+    // nodes and for invalidations that committed after they were stamped
+    private static final long INVALIDATION_OVERLAP_MS = 5_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ConcurrentHashMap<String, Long> pendingAccesses = new ConcurrentHashMap<>();
+    private final List<InvalidationListener> listeners = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService flusher;
+    private final long idleTtlMs;
+    private final long absoluteTtlMs;
+    private final long flushIntervalMs;
+    private final long invalidationPollMs;
+    private final long invalidationRetentionMs;
+    private final boolean initializeSchema;
+    private final Counter flushedAccesses;
+    private long lastPolledAt;
+
+    public JdbcSessionStore(JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${app.session.idle-ttl-ms:1800000}") long idleTtlMs,
+                            @Value("${app.session.absolute-ttl-ms:43200000}") long absoluteTtlMs,
+                            @Value("${app.session.jdbc.flush-interval-ms:1000}") long flushIntervalMs,
+                            @Value("${app.session.jdbc.initialize-schema:false}") boolean initializeSchema,
+                            @Value("${app.session.jdbc.invalidation-poll-ms:1000}") long invalidationPollMs,
+                            @Value("${app.session.jdbc.invalidation-retention-ms:600000}") long invalidationRetentionMs,
+                            MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.idleTtlMs = idleTtlMs;
+        this.absoluteTtlMs = absoluteTtlMs;
+        this.flushIntervalMs = flushIntervalMs;
+        this.initializeSchema = initializeSchema;
+        this.invalidationPollMs = invalidationPollMs;
+        this.invalidationRetentionMs = invalidationRetentionMs;
+        this.flushedAccesses = Counter.builder("sessions.jdbc.accesses.flushed")
+                .description("Session access times written in batches")
+                .register(meterRegistry);
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-store-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    void start() {
+        if (initializeSchema) {
+            transactionTemplate.executeWithoutResult(status -> new ResourceDatabasePopulator(
+                    new ClassPathResource("db/session-store-schema.sql")).execute(jdbcTemplate.getDataSource()));
+        }
+        lastPolledAt = System.currentTimeMillis();
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        flusher.scheduleWithFixedDelay(this::pollInvalidationsQuietly,
+                invalidationPollMs, invalidationPollMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void register(String sessionId, String userId) {
+        long now = System.currentTimeMillis();
+        transactionTemplate.executeWithoutResult(status -> {
+            int updated = jdbcTemplate.update(
+                    "UPDATE app_session SET user_id = ?, created_at = ?, last_accessed_at = ? WHERE session_id = ?",
+                    userId, now, now, sessionId);
+            if (updated == 0) {
+                jdbcTemplate.update(
+                        "INSERT INTO app_session (session_id, user_id, created_at, last_accessed_at) VALUES (?, ?, ?, ?)",
+                        sessionId, userId, now, now);
+            }
+        });
+    }
+
+    @Override
+    public Optional<String> touch(String sessionId) {
+        long now = System.currentTimeMillis();
+        List<String> userIds = transactionTemplate.execute(status -> jdbcTemplate.queryForList(
+                "SELECT user_id FROM app_session WHERE session_id = ? AND last_accessed_at > ? AND created_at > ?",
+                String.class, sessionId, now - idleTtlMs, now - absoluteTtlMs));
+        if (userIds == null || userIds.isEmpty()) {
+            return Optional.empty();
+        }
+        pendingAccesses.merge(sessionId, now, Math::max);
+        return Optional.of(userIds.get(0));
+    }
+
+    @Override
+    public void recordAccess(String sessionId) {
+        pendingAccesses.merge(sessionId, System.currentTimeMillis(), Math::max);
+    }
+
+    @Override
+    public void invalidate(String sessionId) {
+        pendingAccesses.remove(sessionId);
+        long now = System.currentTimeMillis();
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM app_session WHERE session_id = ?", sessionId);
+            jdbcTemplate.update("INSERT INTO app_session_invalidation (session_id, invalidated_at) VALUES (?, ?)",
+                    sessionId, now);
+        });
+    }
+
+    @Override
+    public int invalidateUser(String userId) {
+        long now = System.currentTimeMillis();
+        Integer removed = transactionTemplate.execute(status -> {
+            int deleted = jdbcTemplate.update("DELETE FROM app_session WHERE user_id = ?", userId);
+            jdbcTemplate.update("INSERT INTO app_session_invalidation (user_id, invalidated_at) VALUES (?, ?)",
+                    userId, now);
+            return deleted;
+        });
+        return removed != null ? removed : 0;
+    }
+
+    @Override
+    public void addInvalidationListener(InvalidationListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Writes all coalesced access times in one batch and purges expired sessions.
+     */
+    public void flush() {
+        List<Object[]> batch = new ArrayList<>(pendingAccesses.size());
+        for (Map.Entry<String, Long> entry : pendingAccesses.entrySet()) {
+            if (pendingAccesses.remove(entry.getKey(), entry.getValue())) {
+                batch.add(new Object[]{entry.getValue(), entry.getKey(), entry.getValue()});
+            }
+        }
+
+        long now = System.currentTimeMillis();
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!batch.isEmpty()) {
+                jdbcTemplate.batchUpdate(
+                        "UPDATE app_session SET last_accessed_at = ? WHERE session_id = ? AND last_accessed_at < ?",
+                        batch);
+            }
+            jdbcTemplate.update("DELETE FROM app_session WHERE last_accessed_at <= ? OR created_at <= ?",
+                    now - idleTtlMs, now - absoluteTtlMs);
+            jdbcTemplate.update("DELETE FROM app_session_invalidation WHERE invalidated_at <= ?",
+                    now - invalidationRetentionMs);
+        });
+        flushedAccesses.increment(batch.size());
+    }
+
+    /**
+     * Passes the invalidations recorded by any node since the previous poll to the
+     * listeners. The window overlaps the previous one by {@link #INVALIDATION_OVERLAP_MS},
+     * so an invalidation is usually delivered more than once; listeners only evict, so
+     * that is harmless, and it also catches an entry cached just after the first delivery.
+     */
+    public void pollInvalidations() {
+        long startedAt = System.currentTimeMillis();
+        if (listeners.isEmpty()) {
+            lastPolledAt = startedAt;
+            return;
+        }
+        long since = lastPolledAt - INVALIDATION_OVERLAP_MS;
+        if (since <= startedAt - invalidationRetentionMs) {
+            // Polls stalled for longer than rows are kept, so some may already be purged
+            listeners.forEach(InvalidationListener::allInvalidated);
+        } else {
+            jdbcTemplate.query("SELECT session_id, user_id FROM app_session_invalidation WHERE invalidated_at > ?",
+                    (RowCallbackHandler) rs -> {
+                        String sessionId = rs.getString("session_id");
+                        String userId = rs.getString("user_id");
+                        for (InvalidationListener listener : listeners) {
+                            if (sessionId != null) {
+                                listener.sessionInvalidated(sessionId);
+                            } else {
+                                listener.userInvalidated(userId);
+                            }
+                        }
+                    }, since);
+        }
+        lastPolledAt = startedAt;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        flushQuietly();
+    }
+
+    private void pollInvalidationsQuietly() {
+        try {
+            pollInvalidations();
+        } catch (RuntimeException e) {
+            // Revocations from other nodes cannot be seen, so nothing cached can be trusted
+            log.warn("Failed to poll session invalidations", e);
+            listeners.forEach(InvalidationListener::allInvalidated);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush session store", e);
+        }
+    }
+}
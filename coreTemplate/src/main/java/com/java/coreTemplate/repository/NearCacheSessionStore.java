@@ -0,0 +1,86 @@
+package com.java.coreTemplate.repository;
+
+import com.java.coreTemplate.utility.ExpiringCache;
+
+import java.util.Optional;
+
+/**
+ * Small local cache in front of a shared {@link SessionStore}. Live sessions found in
+ * the cache skip the remote read; their access is still reported to the backend.
+ * <p>
+ * Invalidations made on this node evict the cache immediately. Invalidations made on
+ * other nodes arrive through the backend's invalidation channel, within one
+ * {@code app.session.jdbc.invalidation-poll-ms} for {@link JdbcSessionStore}. The TTL
+ * is only a backstop: no entry is trusted for longer than {@code ttlMs}, even if a
+ * notification is lost.
+ */
+public class NearCacheSessionStore implements SessionStore {
+
+    private final SessionStore delegate;
+    // Session id to user id
+    private final ExpiringCache<String, String> entries;
+
+    public NearCacheSessionStore(SessionStore delegate, long ttlMs, int maxSize) {
+        this.delegate = delegate;
+        this.entries = new ExpiringCache<>(ttlMs, maxSize);
+        delegate.addInvalidationListener(new Evictor());
+    }
+
+    @Override
+    public void register(String sessionId, String userId) {
+        delegate.register(sessionId, userId);
+        entries.put(sessionId, userId);
+    }
+
+    @Override
+    public Optional<String> touch(String sessionId) {
+        String cached = entries.get(sessionId);
+        if (cached != null) {
+            delegate.recordAccess(sessionId);
+            return Optional.of(cached);
+        }
+
+        Optional<String> userId = delegate.touch(sessionId);
+        if (userId.isPresent()) {
+            entries.put(sessionId, userId.get());
+        } else {
+            entries.remove(sessionId);
+        }
+        return userId;
+    }
+
+    @Override
+    public void recordAccess(String sessionId) {
+        delegate.recordAccess(sessionId);
+    }
+
+    @Override
+    public void invalidate(String sessionId) {
+        entries.remove(sessionId);
+        delegate.invalidate(sessionId);
+    }
+
+    @Override
+    public int invalidateUser(String userId) {
+        entries.removeIf(userId::equals);
+        return delegate.invalidateUser(userId);
+    }
+
+    private class Evictor implements InvalidationListener {
+
+        @Override
+        public void sessionInvalidated(String sessionId) {
+            entries.remove(sessionId);
+        }
+
+        @Override
+        public void userInvalidated(String userId) {
+            entries.removeIf(userId::equals);
+        }
+
+        @Override
+        public void allInvalidated() {
+            entries.clear();
+        }
+    }
+}
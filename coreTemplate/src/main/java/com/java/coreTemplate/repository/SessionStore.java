@@ -0,0 +1,52 @@
+package com.java.coreTemplate.repository;
+
+import java.util.Optional;
+
+/**
+ * Backend for {@link com.java.coreTemplate.service.SessionAuthService}. Implementations
+ * are selected with {@code app.session.store}: {@code memory} (default) or {@code jdbc}.
+ */
+public interface SessionStore {
+
+    void register(String sessionId, String userId);
+
+    /**
+     * Returns the user of a live session and records the access for the idle timeout.
+     */
+    Optional<String> touch(String sessionId);
+
+    /**
+     * Records an access without reading the session back. Used by caches that already
+     * know the session is live; stores may defer or batch the write.
+     */
+    default void recordAccess(String sessionId) {
+        touch(sessionId);
+    }
+
+    void invalidate(String sessionId);
+
+    /**
+     * @return the number of sessions removed
+     */
+    int invalidateUser(String userId);
+
+    /**
+     * Subscribes to invalidations made on any node, so a cache in front of a shared store
+     * can drop revoked sessions. A store that only lives on this node has nothing to
+     * report beyond its own calls and may ignore the listener.
+     */
+    default void addInvalidationListener(InvalidationListener listener) {
+    }
+
+    interface InvalidationListener {
+
+        void sessionInvalidated(String sessionId);
+
+        void userInvalidated(String userId);
+
+        /**
+         * Invalidations may have been missed, for example while the store was unreachable.
+         */
+        void allInvalidated();
+    }
+}
@@ -2,14 +2,31 @@ package com.java.coreTemplate.repository;
 
 import com.java.coreTemplate.model.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
   Optional<User> findByEmail(String email);
+  // Email is not unique, so lookups by email take the oldest account
+  Optional<User> findFirstByEmailOrderByIdAsc(String email);
 
   // Additional query methods if needed
   Optional<User> findByUsername(String username);
   Optional<User> findByOauthProviderAndOauthId(String provider, String providerId);
   boolean existsByEmail(String email);
+
+  // Inserts the user unless one with the same provider identity exists, atomically, so
+  // concurrent first logins cannot create duplicates. Returns the number of rows inserted.
+  // Needs the unique constraint from db/user-oauth-identity.sql.
+  @Modifying
+  @Query("INSERT INTO User (username, email, oauthProvider, oauthId) " +
+         "VALUES (:username, :email, :provider, :providerId) " +
+         "ON CONFLICT (oauthProvider, oauthId) DO NOTHING")
+  int insertIfAbsent(@Param("provider") String provider,
+                     @Param("providerId") String providerId,
+                     @Param("username") String username,
+                     @Param("email") String email);
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.java.coreTemplate.service;
+
+import com.java.coreTemplate.model.dto.UserPrincipal;
+import com.java.coreTemplate.model.entity.User;
+import com.java.coreTemplate.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+@Service
+public class CustomUserDetailsService implements UserDetailsService {
+    @Autowired
+    private UserRepository userRepository;
+
+    /**
+     * JWT subjects are user ids, so numeric usernames are looked up by id and
+     * everything else by email. Email is not unique, so the oldest account with that
+     * email wins.
+     */
+    @Override
+    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        return findUser(username)
+                .map(UserPrincipal::create)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+    }
+
+    private Optional<User> findUser(String username) {
+        try {
+            return userRepository.findById(Long.valueOf(username));
+        } catch (NumberFormatException e) {
+            return userRepository.findFirstByEmailOrderByIdAsc(username);
+        }
+    }
+}
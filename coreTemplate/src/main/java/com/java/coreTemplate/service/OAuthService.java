@@ -1,13 +1,38 @@
 package com.java.coreTemplate.service;
 
+import com.java.coreTemplate.utility.UserInfoCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.RestTemplate;
-import java.util.HashMap;
+
+import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
+/**
+ * Client for the configured OAuth provider's token and userinfo endpoints.
+ * <p>
+ * Calls go through the shared pooled client from {@code ExecutionConfig}, with its
+ * connect and read timeouts. Userinfo responses are cached per access token for
+ * {@code app.oauth2.userinfo-cache.ttl-ms}, and concurrent lookups for the same token
+ * share one provider call. Each call is timed as {@code oauth.provider.requests}, tagged
+ * with the provider, the operation and the outcome, with a percentile histogram.
+ */
 @Service
 public class OAuthService {
+    private static final ParameterizedTypeReference<Map<String, Object>> JSON_OBJECT =
+            new ParameterizedTypeReference<>() {
+            };
+
     @Value("${oauth2.provider.token-uri}")
     private String tokenUri;
 
@@ -23,21 +48,70 @@ public class OAuthService {
     @Value("${oauth2.client.redirect-uri}")
     private String redirectUri;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    // Shared pooled client with connect and read timeouts, see ExecutionConfig
+    private final RestTemplate restTemplate;
+    private final MeterRegistry meterRegistry;
+    private final String provider;
+    private final UserInfoCache userInfoCache;
+
+    public OAuthService(RestTemplate outboundRestTemplate,
+                        MeterRegistry meterRegistry,
+                        @Value("${oauth2.provider.name:default}") String provider,
+                        @Value("${app.oauth2.userinfo-cache.ttl-ms:60000}") long userInfoTtlMs,
+                        @Value("${app.oauth2.userinfo-cache.max-size:10000}") int userInfoMaxSize) {
+        this.restTemplate = outboundRestTemplate;
+        this.meterRegistry = meterRegistry;
+        this.provider = provider;
+        this.userInfoCache = new UserInfoCache(userInfoTtlMs, userInfoMaxSize);
+    }
 
     public String getAccessToken(String code) {
-        Map<String, String> params = new HashMap<>();
-        params.put("code", code);
-        params.put("client_id", clientId);
-        params.put("client_secret", clientSecret);
-        params.put("redirect_uri", redirectUri);
-        params.put("grant_type", "authorization_code");
-
-        Map<String, Object> response = restTemplate.postForObject(tokenUri, params, Map.class);
-        return (String) response.get("access_token");
+        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+        params.add("code", code);
+        params.add("client_id", clientId);
+        params.add("client_secret", clientSecret);
+        params.add("redirect_uri", redirectUri);
+        params.add("grant_type", "authorization_code");
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+
+        Map<String, Object> response = timed("token", () -> restTemplate.exchange(
+                tokenUri, HttpMethod.POST, new HttpEntity<>(params, headers), JSON_OBJECT).getBody());
+        return response != null ? (String) response.get("access_token") : null;
     }
 
+    // The token travels in the Authorization header so it stays out of URLs and access logs
     public Map<String, Object> getUserInfo(String accessToken) {
-        return restTemplate.getForObject(userInfoUri + "?access_token=" + accessToken, Map.class);
+        return userInfoCache.get(accessToken, () -> {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setBearerAuth(accessToken);
+            headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+            return timed("userinfo", () -> restTemplate.exchange(
+                    userInfoUri, HttpMethod.GET, new HttpEntity<>(headers), JSON_OBJECT).getBody());
+        });
+    }
+
+    // Drops a cached userinfo response, for example after the token was revoked
+    public void evictUserInfo(String accessToken) {
+        userInfoCache.invalidate(accessToken);
+    }
+
+    private <T> T timed(String operation, Supplier<T> call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            T result = call.get();
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(Timer.builder("oauth.provider.requests")
+                    .tag("provider", provider)
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,51 @@
+package com.java.coreTemplate.service;
+
+import com.java.coreTemplate.model.entity.Role;
+import com.java.coreTemplate.model.entity.RoleName;
+import com.java.coreTemplate.repository.RoleRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Process-wide lookup of the {@link Role} rows. Roles are a fixed set named by
+ * {@link RoleName}, so they are read once and handed out as detached entities, which is
+ * all that is needed to link them to a user. The table is read again only when a role
+ * is asked for that was not there yet, for example because it was seeded after startup.
+ */
+@Component
+public class RoleCache {
+    private final RoleRepository roleRepository;
+
+    private volatile Map<RoleName, Role> roles = new EnumMap<>(RoleName.class);
+
+    public RoleCache(RoleRepository roleRepository) {
+        this.roleRepository = roleRepository;
+    }
+
+    /**
+     * @throws IllegalStateException if the role does not exist in the database
+     */
+    public Role get(RoleName name) {
+        Role role = roles.get(name);
+        if (role == null) {
+            role = reload().get(name);
+            if (role == null) {
+                throw new IllegalStateException("Role not found: " + name);
+            }
+        }
+        return role;
+    }
+
+    private synchronized Map<RoleName, Role> reload() {
+        Map<RoleName, Role> loaded = new EnumMap<>(RoleName.class);
+        for (Role role : roleRepository.findAll()) {
+            if (role.getName() != null) {
+                loaded.put(role.getName(), role);
+            }
+        }
+        roles = loaded;
+        return loaded;
+    }
+}
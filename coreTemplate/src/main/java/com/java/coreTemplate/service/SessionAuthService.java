@@ -1,23 +1,33 @@
 package com.java.coreTemplate.service;
 
+import com.java.coreTemplate.repository.NearCacheSessionStore;
+import com.java.coreTemplate.repository.SessionStore;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class SessionAuthService {
-    private final ConcurrentHashMap<String, String> activeSessions = new ConcurrentHashMap<>();
+    private final SessionStore activeSessions;
+
+    public SessionAuthService(SessionStore sessionStore,
+                              @Value("${app.session.near-cache.ttl-ms:0}") long nearCacheTtlMs,
+                              @Value("${app.session.near-cache.max-size:10000}") int nearCacheMaxSize) {
+        this.activeSessions = nearCacheTtlMs > 0
+                ? new NearCacheSessionStore(sessionStore, nearCacheTtlMs, nearCacheMaxSize)
+                : sessionStore;
+    }
 
     public String createSession(String userId, HttpServletRequest request) {
         HttpSession session = request.getSession(true);
         session.setAttribute("userId", userId);
-        activeSessions.put(session.getId(), userId);
+        activeSessions.register(session.getId(), userId);
         return session.getId();
     }
 
     public boolean isValidSession(String sessionId) {
-        return activeSessions.containsKey(sessionId);
+        return activeSessions.touch(sessionId).isPresent();
     }
 
     public void invalidateSession(String sessionId, HttpServletRequest request) {
@@ -25,10 +35,14 @@ public class SessionAuthService {
         if (session != null) {
             session.invalidate();
         }
-        activeSessions.remove(sessionId);
+        activeSessions.invalidate(sessionId);
+    }
+
+    public int invalidateUserSessions(String userId) {
+        return activeSessions.invalidateUser(userId);
     }
 
     public String getUserIdFromSession(String sessionId) {
-        return activeSessions.get(sessionId);
+        return activeSessions.touch(sessionId).orElse(null);
     }
-}
\ No newline at end of file
+}
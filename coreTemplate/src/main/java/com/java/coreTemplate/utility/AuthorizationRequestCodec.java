@@ -0,0 +1,16 @@
+package com.java.coreTemplate.utility;
+
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+
+/**
+ * Turns an {@link OAuth2AuthorizationRequest} into a cookie-safe string and back.
+ */
+public interface AuthorizationRequestCodec {
+
+    String encode(OAuth2AuthorizationRequest authorizationRequest);
+
+    /**
+     * @return the decoded request, or {@code null} if the value is malformed or was tampered with
+     */
+    OAuth2AuthorizationRequest decode(String value);
+}
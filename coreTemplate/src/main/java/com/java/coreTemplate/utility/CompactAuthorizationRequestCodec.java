@@ -0,0 +1,226 @@
+package com.java.coreTemplate.utility;
+
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.*;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Field-oriented binary encoding of the authorization request, optionally deflated and
+ * always followed by a truncated HMAC-SHA256 tag, then Base64url-encoded.
+ * <p>
+ * Layout: {@code version, flags, payload, tag}. Parameter and attribute values must be
+ * strings, which is all Spring Security's own resolvers put there; {@link #encode}
+ * rejects any other value with an {@link IllegalArgumentException} rather than narrowing
+ * it to its {@code toString()}. Requests carrying other values need the {@code java}
+ * codec.
+ */
+public class CompactAuthorizationRequestCodec implements AuthorizationRequestCodec {
+
+    private static final byte VERSION = 1;
+    private static final byte FLAG_DEFLATED = 1;
+    private static final int TAG_LENGTH = 16;
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+    private final boolean compress;
+    private final ThreadLocal<Mac> macs;
+
+    public CompactAuthorizationRequestCodec(String secret, boolean compress) {
+        this(secret.getBytes(StandardCharsets.UTF_8), compress);
+    }
+
+    public CompactAuthorizationRequestCodec(byte[] key, boolean compress) {
+        this.key = new SecretKeySpec(key, HMAC_ALGORITHM);
+        this.compress = compress;
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    /**
+     * Derives a key for this codec alone from a secret that also serves another purpose,
+     * as {@code HMAC-SHA256(secret, purpose)}, so the cookie tag and whatever else uses
+     * the secret never share a key.
+     */
+    public static byte[] deriveKey(String secret, String purpose) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM));
+            return mac.doFinal(purpose.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialize " + HMAC_ALGORITHM, e);
+        }
+    }
+
+    @Override
+    public String encode(OAuth2AuthorizationRequest authorizationRequest) {
+        byte[] payload = write(authorizationRequest);
+        byte flags = 0;
+        if (compress) {
+            byte[] deflated = deflate(payload);
+            if (deflated.length < payload.length) {
+                payload = deflated;
+                flags |= FLAG_DEFLATED;
+            }
+        }
+
+        byte[] message = new byte[2 + payload.length + TAG_LENGTH];
+        message[0] = VERSION;
+        message[1] = flags;
+        System.arraycopy(payload, 0, message, 2, payload.length);
+        byte[] tag = tag(message, 2 + payload.length);
+        System.arraycopy(tag, 0, message, 2 + payload.length, TAG_LENGTH);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(message);
+    }
+
+    @Override
+    public OAuth2AuthorizationRequest decode(String value) {
+        try {
+            byte[] message = Base64.getUrlDecoder().decode(value);
+            int payloadEnd = message.length - TAG_LENGTH;
+            if (payloadEnd < 2 || message[0] != VERSION) {
+                return null;
+            }
+            byte[] expected = Arrays.copyOf(tag(message, payloadEnd), TAG_LENGTH);
+            byte[] actual = Arrays.copyOfRange(message, payloadEnd, message.length);
+            if (!MessageDigest.isEqual(expected, actual)) {
+                return null;
+            }
+
+            byte[] payload = Arrays.copyOfRange(message, 2, payloadEnd);
+            if ((message[1] & FLAG_DEFLATED) != 0) {
+                payload = inflate(payload);
+            }
+            return read(payload);
+        } catch (IllegalArgumentException | IOException | DataFormatException e) {
+            return null;
+        }
+    }
+
+    private static byte[] write(OAuth2AuthorizationRequest request) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF(request.getAuthorizationUri());
+            out.writeUTF(request.getClientId());
+            writeNullable(out, request.getRedirectUri());
+            writeNullable(out, request.getState());
+            out.writeShort(request.getScopes().size());
+            for (String scope : request.getScopes()) {
+                out.writeUTF(scope);
+            }
+            writeMap(out, request.getAdditionalParameters());
+            writeMap(out, request.getAttributes());
+            out.writeUTF(request.getAuthorizationRequestUri());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static OAuth2AuthorizationRequest read(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        OAuth2AuthorizationRequest.Builder builder = OAuth2AuthorizationRequest.authorizationCode()
+                .authorizationUri(in.readUTF())
+                .clientId(in.readUTF())
+                .redirectUri(readNullable(in))
+                .state(readNullable(in));
+
+        int scopeCount = in.readUnsignedShort();
+        Set<String> scopes = new LinkedHashSet<>(scopeCount * 2);
+        for (int i = 0; i < scopeCount; i++) {
+            scopes.add(in.readUTF());
+        }
+        return builder.scopes(scopes)
+                .additionalParameters(readMap(in))
+                .attributes(readMap(in))
+                .authorizationRequestUri(in.readUTF())
+                .build();
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeMap(DataOutputStream out, Map<String, Object> map) throws IOException {
+        out.writeShort(map.size());
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            if (!(entry.getValue() instanceof String value)) {
+                throw new IllegalArgumentException("Only string values can be encoded, '" + entry.getKey()
+                        + "' is " + (entry.getValue() == null ? "null" : entry.getValue().getClass().getName()));
+            }
+            out.writeUTF(entry.getKey());
+            out.writeUTF(value);
+        }
+    }
+
+    private static Map<String, Object> readMap(DataInputStream in) throws IOException {
+        int size = in.readUnsignedShort();
+        Map<String, Object> map = new LinkedHashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            map.put(in.readUTF(), in.readUTF());
+        }
+        return map;
+    }
+
+    private static byte[] deflate(byte[] input) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            byte[] buffer = new byte[input.length + 64];
+            int length = deflater.deflate(buffer);
+            return deflater.finished() ? Arrays.copyOf(buffer, length) : input;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] input) throws DataFormatException {
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(input);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length * 3);
+            byte[] buffer = new byte[1024];
+            while (!inflater.finished()) {
+                int length = inflater.inflate(buffer);
+                if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("Truncated deflate stream");
+                }
+                out.write(buffer, 0, length);
+            }
+            return out.toByteArray();
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private byte[] tag(byte[] message, int length) {
+        Mac mac = macs.get();
+        mac.update(message, 0, length);
+        return mac.doFinal();
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialize " + HMAC_ALGORITHM, e);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.java.coreTemplate.utility;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * Bounded map whose entries expire after a TTL, given per cache or per entry.
+ * <p>
+ * Expired entries are dropped when read. When an insert finds the map full, one thread
+ * removes every expired entry and then the entries closest to expiry until the map is
+ * down to 90% of {@code maxSize}. The scan and sort therefore run once per tenth of
+ * the capacity inserted, not on every insert, and the entries dropped are the ones
+ * that had the least time left rather than arbitrary ones. Other threads keep
+ * inserting meanwhile, so the size can briefly exceed the bound.
+ */
+public class ExpiringCache<K, V> {
+    private static final int EVICT_TO_PERCENT = 90;
+    // About 70 years, so deadlines never overflow System.nanoTime arithmetic
+    private static final long MAX_TTL_NANOS = Long.MAX_VALUE >> 2;
+
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final long ttlMillis;
+    private final int maxSize;
+
+    /**
+     * @param ttlMillis TTL used by {@link #put(Object, Object)}; zero or less stores nothing
+     * @param maxSize   the bound; zero or less stores nothing
+     */
+    public ExpiringCache(long ttlMillis, int maxSize) {
+        this.ttlMillis = ttlMillis;
+        this.maxSize = maxSize;
+    }
+
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(System.nanoTime())) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value;
+    }
+
+    public void put(K key, V value) {
+        put(key, value, ttlMillis);
+    }
+
+    public void put(K key, V value, long ttlMillis) {
+        if (ttlMillis <= 0 || maxSize <= 0) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            evict();
+        }
+        long now = System.nanoTime();
+        entries.put(key, new Entry<>(value, now + Math.min(TimeUnit.MILLISECONDS.toNanos(ttlMillis), MAX_TTL_NANOS)));
+    }
+
+    public void remove(K key) {
+        entries.remove(key);
+    }
+
+    public void removeIf(Predicate<? super V> filter) {
+        entries.values().removeIf(entry -> filter.test(entry.value));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    private void evict() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long now = System.nanoTime();
+            entries.values().removeIf(entry -> entry.isExpired(now));
+            int excess = entries.size() - (int) ((long) maxSize * EVICT_TO_PERCENT / 100);
+            if (excess <= 0) {
+                return;
+            }
+            List<Map.Entry<K, Entry<V>>> soonest = new ArrayList<>(entries.entrySet());
+            soonest.sort(Comparator.comparingLong(candidate -> candidate.getValue().expiresAt - now));
+            for (int i = 0; i < excess && i < soonest.size(); i++) {
+                entries.remove(soonest.get(i).getKey(), soonest.get(i).getValue());
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+
+        boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.java.coreTemplate.utility;
+
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+import org.springframework.util.SerializationUtils;
+
+import java.util.Base64;
+
+/**
+ * Java serialization plus Base64, the original cookie format.
+ */
+public class JavaSerializationAuthorizationRequestCodec implements AuthorizationRequestCodec {
+
+    @Override
+    public String encode(OAuth2AuthorizationRequest authorizationRequest) {
+        return Base64.getUrlEncoder().encodeToString(SerializationUtils.serialize(authorizationRequest));
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public OAuth2AuthorizationRequest decode(String value) {
+        try {
+            return (OAuth2AuthorizationRequest) SerializationUtils.deserialize(Base64.getUrlDecoder().decode(value));
+        } catch (IllegalArgumentException | IllegalStateException | ClassCastException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.java.coreTemplate.utility;
+
+import com.java.coreTemplate.model.dto.VerifiedToken;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Bounded cache of verified token claims keyed by the SHA-256 digest of the raw token.
+ * Entries are dropped once the token expires and the map never grows beyond {@code maxSize}.
+ */
+public class JwtClaimsCache {
+
+    private final ExpiringCache<String, VerifiedToken> entries;
+    private final int maxSize;
+
+    public JwtClaimsCache(int maxSize) {
+        // Every entry gets its token's remaining lifetime, so there is no cache-wide TTL
+        this.entries = new ExpiringCache<>(0, maxSize);
+        this.maxSize = maxSize;
+    }
+
+    public VerifiedToken get(String token) {
+        if (maxSize <= 0) {
+            return null;
+        }
+        return entries.get(TokenDigest.sha256(token));
+    }
+
+    public void put(String token, VerifiedToken verified) {
+        // Tokens without an expiry are never cached, otherwise they would live forever
+        if (maxSize <= 0 || verified.getExpiresAt() == null) {
+            return;
+        }
+        long ttlMillis = Duration.between(Instant.now(), verified.getExpiresAt()).toMillis();
+        entries.put(TokenDigest.sha256(token), verified, ttlMillis);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+}
@@ -0,0 +1,41 @@
+package com.java.coreTemplate.utility;
+
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.function.Function;
+
+/**
+ * Short-lived cache of loaded users. The TTL bounds how long a revoked or changed
+ * user keeps its old authorities; a TTL of zero turns the cache off.
+ */
+public class UserDetailsCache {
+
+    private final ExpiringCache<String, UserDetails> entries;
+    private final boolean enabled;
+
+    public UserDetailsCache(long ttlMillis, int maxSize) {
+        this.entries = new ExpiringCache<>(ttlMillis, maxSize);
+        this.enabled = ttlMillis > 0 && maxSize > 0;
+    }
+
+    public UserDetails get(String username, Function<String, UserDetails> loader) {
+        if (!enabled) {
+            return loader.apply(username);
+        }
+        UserDetails cached = entries.get(username);
+        if (cached != null) {
+            return cached;
+        }
+        UserDetails userDetails = loader.apply(username);
+        entries.put(username, userDetails);
+        return userDetails;
+    }
+
+    public void invalidate(String username) {
+        entries.remove(username);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+}
@@ -0,0 +1,77 @@
+package com.java.coreTemplate.utility;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived cache of provider userinfo responses keyed by the SHA-256 digest of the
+ * access token, so raw tokens are never kept. Concurrent lookups for the same token
+ * share one provider call: the first caller loads, the others wait for its result, and
+ * a failure is passed to all of them without being cached. A TTL of zero still
+ * coalesces concurrent lookups but keeps nothing afterwards.
+ */
+public class UserInfoCache {
+
+    private final ExpiringCache<String, Map<String, Object>> entries;
+    private final ConcurrentHashMap<String, CompletableFuture<Map<String, Object>>> inFlight = new ConcurrentHashMap<>();
+
+    public UserInfoCache(long ttlMillis, int maxSize) {
+        this.entries = new ExpiringCache<>(ttlMillis, maxSize);
+    }
+
+    public Map<String, Object> get(String accessToken, Supplier<Map<String, Object>> loader) {
+        String key = TokenDigest.sha256(accessToken);
+        Map<String, Object> cached = entries.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        CompletableFuture<Map<String, Object>> load = new CompletableFuture<>();
+        CompletableFuture<Map<String, Object>> running = inFlight.putIfAbsent(key, load);
+        if (running != null) {
+            return join(running);
+        }
+        try {
+            Map<String, Object> userInfo = loader.get();
+            if (userInfo != null) {
+                entries.put(key, userInfo);
+            }
+            load.complete(userInfo);
+            return userInfo;
+        } catch (RuntimeException | Error e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, load);
+        }
+    }
+
+    public void invalidate(String accessToken) {
+        entries.remove(TokenDigest.sha256(accessToken));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    private static Map<String, Object> join(CompletableFuture<Map<String, Object>> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+CREATE TABLE IF NOT EXISTS app_session (
+    session_id       VARCHAR(128) NOT NULL PRIMARY KEY,
+    user_id          VARCHAR(64)  NOT NULL,
+    created_at       BIGINT       NOT NULL,
+    last_accessed_at BIGINT       NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_app_session_user_id ON app_session (user_id);
+CREATE INDEX IF NOT EXISTS idx_app_session_last_accessed_at ON app_session (last_accessed_at);
+
+CREATE TABLE IF NOT EXISTS app_session_invalidation (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    session_id     VARCHAR(128),
+    user_id        VARCHAR(64),
+    invalidated_at BIGINT NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_app_session_invalidation_invalidated_at ON app_session_invalidation (invalidated_at);
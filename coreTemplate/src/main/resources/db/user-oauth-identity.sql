@@ -0,0 +1,3 @@
+-- Required by UserRepository.insertIfAbsent: ON CONFLICT needs a unique index on the key.
+-- Remove duplicate (oauth_provider, oauth_id) rows before applying.
+CREATE UNIQUE INDEX IF NOT EXISTS uk_user_oauth_provider_oauth_id ON "user" (oauth_provider, oauth_id);
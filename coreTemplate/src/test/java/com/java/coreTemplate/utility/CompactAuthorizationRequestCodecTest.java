@@ -0,0 +1,96 @@
+package com.java.coreTemplate.utility;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+import org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames;
+
+import java.util.Base64;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompactAuthorizationRequestCodecTest {
+
+    private static final byte[] KEY = CompactAuthorizationRequestCodec.deriveKey(
+            "test-secret-test-secret-test-secret", "oauth2-cookie");
+
+    @Test
+    void roundTripsEveryField() {
+        OAuth2AuthorizationRequest request = request();
+
+        for (boolean compress : new boolean[]{false, true}) {
+            CompactAuthorizationRequestCodec codec = new CompactAuthorizationRequestCodec(KEY, compress);
+            OAuth2AuthorizationRequest decoded = codec.decode(codec.encode(request));
+
+            assertThat(decoded).isNotNull();
+            assertThat(decoded.getAuthorizationUri()).isEqualTo(request.getAuthorizationUri());
+            assertThat(decoded.getClientId()).isEqualTo(request.getClientId());
+            assertThat(decoded.getRedirectUri()).isEqualTo(request.getRedirectUri());
+            assertThat(decoded.getState()).isEqualTo(request.getState());
+            assertThat(decoded.getScopes()).isEqualTo(request.getScopes());
+            assertThat(decoded.getAdditionalParameters()).isEqualTo(request.getAdditionalParameters());
+            assertThat(decoded.getAttributes()).isEqualTo(request.getAttributes());
+            assertThat(decoded.getAuthorizationRequestUri()).isEqualTo(request.getAuthorizationRequestUri());
+        }
+    }
+
+    @Test
+    void rejectsAnyFlippedByte() {
+        CompactAuthorizationRequestCodec codec = new CompactAuthorizationRequestCodec(KEY, true);
+        byte[] message = Base64.getUrlDecoder().decode(codec.encode(request()));
+
+        for (int i = 0; i < message.length; i++) {
+            byte[] tampered = message.clone();
+            tampered[i] ^= 1;
+            assertThat(codec.decode(Base64.getUrlEncoder().withoutPadding().encodeToString(tampered)))
+                    .as("byte %d flipped", i)
+                    .isNull();
+        }
+    }
+
+    @Test
+    void rejectsValuesSignedWithAnotherKey() {
+        String value = new CompactAuthorizationRequestCodec(KEY, false).encode(request());
+        byte[] otherKey = CompactAuthorizationRequestCodec.deriveKey(
+                "test-secret-test-secret-test-secret", "something-else");
+
+        assertThat(new CompactAuthorizationRequestCodec(otherKey, false).decode(value)).isNull();
+    }
+
+    @Test
+    void rejectsTruncatedAndMalformedValues() {
+        CompactAuthorizationRequestCodec codec = new CompactAuthorizationRequestCodec(KEY, false);
+        String value = codec.encode(request());
+
+        assertThat(codec.decode(value.substring(0, value.length() - 4))).isNull();
+        assertThat(codec.decode("")).isNull();
+        assertThat(codec.decode("not base64 !")).isNull();
+    }
+
+    @Test
+    void refusesNonStringAttributes() {
+        OAuth2AuthorizationRequest request = OAuth2AuthorizationRequest.authorizationCode()
+                .authorizationUri("https://example.com/authorize")
+                .clientId("client")
+                .attributes(Map.of("count", 1))
+                .build();
+
+        assertThatThrownBy(() -> new CompactAuthorizationRequestCodec(KEY, false).encode(request))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("count");
+    }
+
+    private static OAuth2AuthorizationRequest request() {
+        return OAuth2AuthorizationRequest.authorizationCode()
+                .authorizationUri("https://github.com/login/oauth/authorize")
+                .clientId("client-id")
+                .redirectUri("http://localhost:8080/login/oauth2/code/github")
+                .scopes(Set.of("read:user", "user:email"))
+                .state("bq3Hs2K0tBq8XsWQ1f9m6yA4cZ7pLr5vN2dEoUjTgKw=")
+                .additionalParameters(Map.of("prompt", "consent"))
+                .attributes(Map.of(OAuth2ParameterNames.REGISTRATION_ID, "github"))
+                .build();
+    }
+}
@@ -0,0 +1,68 @@
+package com.java.coreTemplate.utility;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExpiringCacheTest {
+
+    @Test
+    void returnsLiveEntriesAndDropsExpiredOnes() throws InterruptedException {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(60_000, 10);
+        cache.put("live", "a");
+        cache.put("short", "b", 1);
+        Thread.sleep(5);
+
+        assertThat(cache.get("live")).isEqualTo("a");
+        assertThat(cache.get("short")).isNull();
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void fullCacheEvictsABatchClosestToExpiry() {
+        ExpiringCache<Integer, Integer> cache = new ExpiringCache<>(60_000, 100);
+        // Keys 0-9 expire first, the rest much later
+        for (int key = 0; key < 10; key++) {
+            cache.put(key, key, 10_000);
+        }
+        for (int key = 10; key < 100; key++) {
+            cache.put(key, key, 600_000);
+        }
+
+        cache.put(100, 100);
+
+        // Down to 90, plus the new entry, so the next 9 inserts need no eviction
+        assertThat(cache.size()).isEqualTo(91);
+        for (int key = 0; key < 10; key++) {
+            assertThat(cache.get(key)).isNull();
+        }
+        for (int key = 10; key <= 100; key++) {
+            assertThat(cache.get(key)).isEqualTo(key);
+        }
+    }
+
+    @Test
+    void zeroTtlOrSizeStoresNothing() {
+        ExpiringCache<String, String> noTtl = new ExpiringCache<>(0, 10);
+        ExpiringCache<String, String> noSize = new ExpiringCache<>(60_000, 0);
+        noTtl.put("key", "value");
+        noSize.put("key", "value");
+
+        assertThat(noTtl.get("key")).isNull();
+        assertThat(noSize.get("key")).isNull();
+    }
+
+    @Test
+    void removeIfDropsMatchingValues() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(60_000, 10);
+        cache.put("s1", "alice");
+        cache.put("s2", "bob");
+        cache.put("s3", "alice");
+
+        cache.removeIf("alice"::equals);
+
+        assertThat(cache.get("s1")).isNull();
+        assertThat(cache.get("s2")).isEqualTo("bob");
+        assertThat(cache.get("s3")).isNull();
+    }
+}
@@ -0,0 +1,109 @@
+package com.java.coreTemplate.utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserInfoCacheTest {
+
+    private static final int CALLERS = 8;
+
+    @Test
+    void concurrentLookupsShareOneProviderCall() throws Exception {
+        UserInfoCache cache = new UserInfoCache(60_000, 100);
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Map<String, Object> userInfo = Map.of("id", 1);
+
+        List<Future<Map<String, Object>>> results = lookUpConcurrently(cache, () -> {
+            calls.incrementAndGet();
+            await(release);
+            return userInfo;
+        }, release);
+
+        for (Future<Map<String, Object>> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isSameAs(userInfo);
+        }
+        assertThat(calls).hasValue(1);
+        // Cached afterwards, so the loader is not called again
+        assertThat(cache.get("token", () -> Map.of("id", 2))).isSameAs(userInfo);
+    }
+
+    @Test
+    void failureReachesEveryWaiterAndIsNotCached() throws Exception {
+        UserInfoCache cache = new UserInfoCache(60_000, 100);
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<Map<String, Object>>> results = lookUpConcurrently(cache, () -> {
+            calls.incrementAndGet();
+            await(release);
+            throw new IllegalStateException("provider down");
+        }, release);
+
+        for (Future<Map<String, Object>> result : results) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(IllegalStateException.class)
+                    .hasRootCauseMessage("provider down");
+        }
+        assertThat(calls).hasValue(1);
+        assertThat(cache.size()).isZero();
+        assertThat(cache.get("token", () -> Map.of("id", 3))).containsEntry("id", 3);
+    }
+
+    @Test
+    void zeroTtlCoalescesButKeepsNothing() {
+        UserInfoCache cache = new UserInfoCache(0, 100);
+        AtomicInteger calls = new AtomicInteger();
+
+        cache.get("token", () -> Map.of("id", calls.incrementAndGet()));
+        cache.get("token", () -> Map.of("id", calls.incrementAndGet()));
+
+        assertThat(calls).hasValue(2);
+        assertThat(cache.size()).isZero();
+    }
+
+    // Starts every caller, waits until all of them are inside get(), then lets the loader finish
+    private static List<Future<Map<String, Object>>> lookUpConcurrently(
+            UserInfoCache cache, Supplier<Map<String, Object>> loader,
+            CountDownLatch release) throws InterruptedException {
+        ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+        CountDownLatch started = new CountDownLatch(CALLERS);
+        List<Future<Map<String, Object>>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(callers.submit(() -> {
+                    started.countDown();
+                    return cache.get("token", loader);
+                }));
+            }
+            started.await(5, TimeUnit.SECONDS);
+            // Give the waiters time to find the in-flight load before it completes
+            Thread.sleep(100);
+            release.countDown();
+            return results;
+        } finally {
+            callers.shutdown();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -5,9 +5,16 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import com.java.coreTemplate.service.CalculationStatistics;
 import com.java.coreTemplate.service.CalculatorService;
+import com.java.coreTemplate.model.dto.CalculationStats;
 import com.java.coreTemplate.model.dto.Calculator;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
 @RestController
 @RequestMapping("/api/v1/calculator")
 public class CalculatorController {
@@ -68,6 +75,35 @@ public class CalculatorController {
         return ResponseEntity.ok(service.getCalculationHistory(pageable));
     }
 
+    /**
+     * Rolled-up statistics per operation type. Defaults to per-minute buckets for the last
+     * hour; {@code merge=true} combines the buckets of each operation type into one entry.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<List<CalculationStats>> getStatistics(
+            @RequestParam(defaultValue = "minute") String granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String operationType,
+            @RequestParam(defaultValue = "false") boolean merge) {
+        CalculationStatistics.Granularity bucketSize;
+        try {
+            bucketSize = CalculationStatistics.Granularity.valueOf(granularity.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .header("X-Error-Message", "Unsupported granularity: " + granularity)
+                    .build();
+        }
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusHours(1);
+        return ResponseEntity.ok(service.getStatistics(bucketSize, start, end, operationType, merge));
+    }
+
+    @GetMapping("/stats/totals")
+    public ResponseEntity<List<CalculationStats>> getTotals() {
+        return ResponseEntity.ok(service.getTotals());
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteCalculation(@PathVariable Long id) {
         if (service.existsById(id)) {
@@ -0,0 +1,26 @@
+package com.java.coreTemplate.model.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Aggregates for one operation type over one time bucket, or over a whole range when
+ * buckets are merged. Quantiles are sketch estimates and are null when not tracked.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalculationStats {
+    private String operationType;
+    private LocalDateTime bucketStart;
+    private long count;
+    private double sum;
+    private Double min;
+    private Double max;
+    private Double average;
+    private Double p50;
+    private Double p95;
+    private Double p99;
+}
@@ -35,6 +35,11 @@ public interface CalculatorRepository extends JpaRepository<Calculator, Long> {
            "FROM Calculator c GROUP BY c.operationType")
     List<OperationAverage> findAverageResultByOperationType();
 
+    // Per-operation totals; scans the whole table, so only used to seed CalculationStatistics at startup
+    @Query("SELECT c.operationType as operationType, COUNT(c.result) as count, SUM(c.result) as sum, " +
+           "MIN(c.result) as min, MAX(c.result) as max FROM Calculator c GROUP BY c.operationType")
+    List<OperationTotals> findTotalsByOperationType();
+
     // Find using a case-insensitive search on operation type
     List<Calculator> findByOperationTypeIgnoreCase(String operationType);
 
@@ -53,4 +58,13 @@ public interface CalculatorRepository extends JpaRepository<Calculator, Long> {
         String getOperationType();
         Double getAverageResult();
     }
+
+    // Projection interface for the totals query
+    interface OperationTotals {
+        String getOperationType();
+        long getCount();
+        Double getSum();
+        Double getMin();
+        Double getMax();
+    }
 }
\ No newline at end of file
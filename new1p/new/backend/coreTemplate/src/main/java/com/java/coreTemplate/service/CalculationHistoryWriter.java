@@ -0,0 +1,240 @@
+package com.java.coreTemplate.service;
+
+import com.java.coreTemplate.model.dto.Calculator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Write-behind log of performed calculations. Callers enqueue and return immediately;
+ * a background thread drains the queue every {@code flush-interval-ms} and writes rows
+ * in JDBC batches of at most {@code flush-size}.
+ * <p>
+ * The queue is a lock-free {@link ConcurrentLinkedQueue} bounded by an atomic counter.
+ * When it is full the {@link OverflowPolicy} decides whether the new entry is dropped,
+ * the oldest entry is dropped, or the caller writes the entry synchronously.
+ * <p>
+ * A batch that fails to write is kept, still counted against {@code capacity}, and
+ * retried before anything else on the next flush; the flush stops there, so an outage
+ * does not churn through the queue. After {@code max-attempts} consecutive failures the
+ * batch is dropped and counted in {@code calculator.history.failed}.
+ */
+@Component
+public class CalculationHistoryWriter {
+    private static final Logger log = LoggerFactory.getLogger(CalculationHistoryWriter.class);
+
+    private static final String INSERT_SQL = "INSERT INTO calculator "
+            + "(name, is_active, is_scientific, operation_type, operand1, operand2, result, created_at, version) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    public enum OverflowPolicy {
+        DROP_NEWEST,
+        DROP_OLDEST,
+        CALLER_RUNS
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ConcurrentLinkedQueue<Calculator> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final int capacity;
+    private final int flushSize;
+    private final long flushIntervalMs;
+    private final OverflowPolicy overflowPolicy;
+    private final int maxAttempts;
+    private final ScheduledExecutorService flusher;
+
+    // Batch whose last write failed; only touched by flush(), which is synchronized
+    private List<Calculator> retryBatch;
+    private int retryAttempts;
+
+    private final Counter enqueued;
+    private final Counter dropped;
+    private final Counter written;
+    private final Counter retried;
+    private final Counter failed;
+
+    public CalculationHistoryWriter(JdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager transactionManager,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${app.calculator.history.capacity:100000}") int capacity,
+                                    @Value("${app.calculator.history.flush-size:500}") int flushSize,
+                                    @Value("${app.calculator.history.flush-interval-ms:200}") long flushIntervalMs,
+                                    @Value("${app.calculator.history.overflow-policy:DROP_OLDEST}") OverflowPolicy overflowPolicy,
+                                    @Value("${app.calculator.history.max-attempts:300}") int maxAttempts) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.capacity = capacity;
+        this.flushSize = flushSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.overflowPolicy = overflowPolicy;
+        this.maxAttempts = maxAttempts;
+
+        this.enqueued = meterRegistry.counter("calculator.history.enqueued");
+        this.dropped = meterRegistry.counter("calculator.history.dropped");
+        this.written = meterRegistry.counter("calculator.history.written");
+        this.retried = meterRegistry.counter("calculator.history.retried");
+        this.failed = meterRegistry.counter("calculator.history.failed");
+        Gauge.builder("calculator.history.queued", queued, AtomicInteger::get).register(meterRegistry);
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "calculation-history-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    void start() {
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queues the calculation for the next batch.
+     *
+     * @return {@code false} if the entry was dropped because the queue is full, or was
+     *         written by the caller and that write failed
+     */
+    public boolean append(Calculator calculation) {
+        if (calculation.getCreatedAt() == null) {
+            calculation.setCreatedAt(LocalDateTime.now());
+        }
+        if (queued.incrementAndGet() > capacity) {
+            queued.decrementAndGet();
+            switch (overflowPolicy) {
+                case DROP_NEWEST -> {
+                    dropped.increment();
+                    return false;
+                }
+                case DROP_OLDEST -> {
+                    if (queue.poll() != null) {
+                        // The new entry takes the evicted entry's slot, so the count is unchanged
+                        dropped.increment();
+                    } else {
+                        queued.incrementAndGet();
+                    }
+                }
+                case CALLER_RUNS -> {
+                    if (write(List.of(calculation))) {
+                        return true;
+                    }
+                    failed.increment();
+                    return false;
+                }
+            }
+        }
+        queue.offer(calculation);
+        enqueued.increment();
+        return true;
+    }
+
+    /**
+     * Retries the batch that failed last time, then drains the queue in batches of
+     * {@code flush-size}. Stops at the first batch that fails.
+     */
+    public synchronized void flush() {
+        if (retryBatch != null) {
+            if (write(retryBatch)) {
+                queued.addAndGet(-retryBatch.size());
+            } else if (++retryAttempts < maxAttempts) {
+                retried.increment(retryBatch.size());
+                return;
+            } else {
+                giveUp(retryBatch, retryAttempts);
+            }
+            retryBatch = null;
+            retryAttempts = 0;
+        }
+
+        List<Calculator> batch = new ArrayList<>(flushSize);
+        Calculator calculation;
+        while ((calculation = queue.poll()) != null) {
+            batch.add(calculation);
+            if (batch.size() == flushSize) {
+                if (!writeOrHold(batch)) {
+                    return;
+                }
+                batch = new ArrayList<>(flushSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeOrHold(batch);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        flushQuietly();
+    }
+
+    // Rows leave the queue count only once written or given up, so held rows keep their slots
+    private boolean writeOrHold(List<Calculator> batch) {
+        if (write(batch)) {
+            queued.addAndGet(-batch.size());
+            return true;
+        }
+        if (maxAttempts <= 1) {
+            giveUp(batch, 1);
+        } else {
+            retryBatch = batch;
+            retryAttempts = 1;
+            retried.increment(batch.size());
+        }
+        return false;
+    }
+
+    private void giveUp(List<Calculator> batch, int attempts) {
+        queued.addAndGet(-batch.size());
+        failed.increment(batch.size());
+        log.warn("Dropped {} calculation history rows after {} failed writes", batch.size(), attempts);
+    }
+
+    private boolean write(List<Calculator> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(),
+                    (statement, row) -> {
+                        statement.setString(1, row.getName() != null ? row.getName() : "calculation");
+                        statement.setBoolean(2, row.isActive());
+                        statement.setBoolean(3, row.isScientific());
+                        statement.setString(4, row.getOperationType());
+                        statement.setObject(5, row.getOperand1());
+                        statement.setObject(6, row.getOperand2());
+                        statement.setObject(7, row.getResult());
+                        statement.setTimestamp(8, Timestamp.valueOf(row.getCreatedAt()));
+                    }));
+            written.increment(batch.size());
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Failed to write {} calculation history rows", batch.size(), e);
+            return false;
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Calculation history flush failed", e);
+        }
+    }
+}
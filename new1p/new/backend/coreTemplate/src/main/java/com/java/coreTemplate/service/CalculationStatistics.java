@@ -0,0 +1,270 @@
+package com.java.coreTemplate.service;
+
+import com.java.coreTemplate.model.dto.CalculationStats;
+import com.java.coreTemplate.model.dto.Calculator;
+import com.java.coreTemplate.repository.CalculatorRepository;
+import com.java.coreTemplate.utility.QuantileSketch;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-minute and per-hour rollups of performed calculations, kept per operation type and
+ * updated as calculations are logged. Each bucket holds count, sum, min, max and a
+ * {@link QuantileSketch}, so a range query reads and merges buckets instead of scanning
+ * rows.
+ * <p>
+ * Buckets live in memory and cover what this node recorded since it started; those older
+ * than the retention for their granularity are dropped by a background sweep. All-time
+ * totals per operation type are seeded from the table once at startup and then
+ * maintained on write, replacing the GROUP BY queries over the whole table.
+ */
+@Component
+public class CalculationStatistics {
+    private static final Logger log = LoggerFactory.getLogger(CalculationStatistics.class);
+
+    public enum Granularity {
+        MINUTE(60),
+        HOUR(3600);
+
+        private final long seconds;
+
+        Granularity(long seconds) {
+            this.seconds = seconds;
+        }
+
+        long truncate(long epochSecond) {
+            return Math.floorDiv(epochSecond, seconds) * seconds;
+        }
+    }
+
+    private final CalculatorRepository repository;
+    private final double relativeAccuracy;
+    private final Map<Granularity, Long> retentionMs;
+    private final Map<Granularity, Map<String, NavigableMap<Long, Bucket>>> buckets = Map.of(
+            Granularity.MINUTE, new ConcurrentHashMap<>(),
+            Granularity.HOUR, new ConcurrentHashMap<>());
+    private final Map<String, Bucket> totals = new ConcurrentHashMap<>();
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final ScheduledExecutorService sweeper;
+    private final Counter nonFinite;
+
+    public CalculationStatistics(CalculatorRepository repository,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.calculator.stats.relative-accuracy:0.01}") double relativeAccuracy,
+                                 @Value("${app.calculator.stats.minute-retention-ms:86400000}") long minuteRetentionMs,
+                                 @Value("${app.calculator.stats.hour-retention-ms:2592000000}") long hourRetentionMs) {
+        this.repository = repository;
+        this.relativeAccuracy = relativeAccuracy;
+        this.retentionMs = Map.of(Granularity.MINUTE, minuteRetentionMs, Granularity.HOUR, hourRetentionMs);
+
+        Gauge.builder("calculator.stats.buckets", this, CalculationStatistics::bucketCount).register(meterRegistry);
+        this.nonFinite = meterRegistry.counter("calculator.stats.non-finite");
+
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "calculation-stats-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    void start() {
+        try {
+            for (CalculatorRepository.OperationTotals row : repository.findTotalsByOperationType()) {
+                if (row.getOperationType() != null && row.getCount() > 0 && isFinite(row)) {
+                    totals.put(row.getOperationType(),
+                            Bucket.seeded(row.getCount(), row.getSum() != null ? row.getSum() : 0, row.getMin(), row.getMax()));
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not seed calculation totals; they will cover new calculations only", e);
+        }
+        sweeper.scheduleWithFixedDelay(this::evictExpired, 1, 1, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sweeper.shutdown();
+    }
+
+    // Stored results can be infinite (e.g. 1e308 * 10), which makes the whole aggregate non-finite
+    private static boolean isFinite(CalculatorRepository.OperationTotals row) {
+        return (row.getSum() == null || Double.isFinite(row.getSum()))
+                && (row.getMin() == null || Double.isFinite(row.getMin()))
+                && (row.getMax() == null || Double.isFinite(row.getMax()));
+    }
+
+    /**
+     * Adds the calculation to its minute and hour buckets and to the running totals.
+     * Calculations without an operation type or result are ignored, and NaN or infinite
+     * results are only counted in {@code calculator.stats.non-finite}: the sketch skips
+     * them too, and they would stick in the sum, min and max of the never-expiring
+     * totals and serialize as non-JSON tokens.
+     */
+    public void record(Calculator calculation) {
+        String operationType = calculation.getOperationType();
+        Double result = calculation.getResult();
+        if (operationType == null || result == null) {
+            return;
+        }
+        if (!Double.isFinite(result)) {
+            nonFinite.increment();
+            return;
+        }
+        LocalDateTime createdAt = calculation.getCreatedAt() != null ? calculation.getCreatedAt() : LocalDateTime.now();
+        long epochSecond = createdAt.atZone(zone).toEpochSecond();
+        for (Granularity granularity : Granularity.values()) {
+            buckets.get(granularity)
+                    .computeIfAbsent(operationType, key -> new ConcurrentSkipListMap<>())
+                    .computeIfAbsent(granularity.truncate(epochSecond), key -> new Bucket(relativeAccuracy))
+                    .add(result);
+        }
+        totals.computeIfAbsent(operationType, key -> Bucket.seeded(0, 0, null, null)).add(result);
+    }
+
+    /**
+     * Returns the buckets of the given granularity whose start lies in [from, to), oldest
+     * first, for one operation type or all of them. With {@code merge} set, the buckets
+     * of each operation type are combined into a single entry starting at {@code from}.
+     */
+    public List<CalculationStats> query(Granularity granularity, LocalDateTime from, LocalDateTime to,
+                                        String operationType, boolean merge) {
+        long start = granularity.truncate(from.atZone(zone).toEpochSecond());
+        long end = to.atZone(zone).toEpochSecond();
+        List<CalculationStats> stats = new ArrayList<>();
+        buckets.get(granularity).forEach((type, series) -> {
+            if (operationType != null && !operationType.equals(type)) {
+                return;
+            }
+            NavigableMap<Long, Bucket> range = series.subMap(start, true, end, false);
+            if (merge) {
+                if (!range.isEmpty()) {
+                    Bucket merged = new Bucket(relativeAccuracy);
+                    range.values().forEach(bucket -> bucket.mergeInto(merged));
+                    stats.add(merged.toStats(type, from));
+                }
+            } else {
+                range.forEach((bucketStart, bucket) -> stats.add(bucket.toStats(type, toLocal(bucketStart))));
+            }
+        });
+        stats.sort((a, b) -> {
+            int byStart = a.getBucketStart().compareTo(b.getBucketStart());
+            return byStart != 0 ? byStart : a.getOperationType().compareTo(b.getOperationType());
+        });
+        return stats;
+    }
+
+    /**
+     * All-time count, sum, min, max and average per operation type.
+     */
+    public List<CalculationStats> totals() {
+        List<CalculationStats> stats = new ArrayList<>(totals.size());
+        totals.forEach((type, bucket) -> stats.add(bucket.toStats(type, null)));
+        stats.sort((a, b) -> a.getOperationType().compareTo(b.getOperationType()));
+        return stats;
+    }
+
+    void evictExpired() {
+        try {
+            long now = Instant.now().getEpochSecond();
+            buckets.forEach((granularity, byType) -> {
+                long cutoff = now - retentionMs.get(granularity) / 1000;
+                byType.values().forEach(series -> series.headMap(cutoff).clear());
+            });
+        } catch (RuntimeException e) {
+            log.warn("Calculation stats sweep failed", e);
+        }
+    }
+
+    private long bucketCount() {
+        long count = 0;
+        for (Map<String, NavigableMap<Long, Bucket>> byType : buckets.values()) {
+            for (NavigableMap<Long, Bucket> series : byType.values()) {
+                count += series.size();
+            }
+        }
+        return count;
+    }
+
+    private LocalDateTime toLocal(long epochSecond) {
+        return LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), zone);
+    }
+
+    private static final class Bucket {
+        private long count;
+        private double sum;
+        private double min = Double.POSITIVE_INFINITY;
+        private double max = Double.NEGATIVE_INFINITY;
+        private final QuantileSketch sketch;
+
+        Bucket(double relativeAccuracy) {
+            this.sketch = new QuantileSketch(relativeAccuracy);
+        }
+
+        private Bucket() {
+            this.sketch = null;
+        }
+
+        /** A bucket without a sketch, for totals whose history cannot be replayed. */
+        static Bucket seeded(long count, double sum, Double min, Double max) {
+            Bucket bucket = new Bucket();
+            bucket.count = count;
+            bucket.sum = sum;
+            bucket.min = min != null ? min : Double.POSITIVE_INFINITY;
+            bucket.max = max != null ? max : Double.NEGATIVE_INFINITY;
+            return bucket;
+        }
+
+        synchronized void add(double value) {
+            count++;
+            sum += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+            if (sketch != null) {
+                sketch.add(value);
+            }
+        }
+
+        /** Merges into a bucket not shared with other threads. */
+        synchronized void mergeInto(Bucket target) {
+            target.count += count;
+            target.sum += sum;
+            target.min = Math.min(target.min, min);
+            target.max = Math.max(target.max, max);
+            if (sketch != null && target.sketch != null) {
+                target.sketch.merge(sketch);
+            }
+        }
+
+        synchronized CalculationStats toStats(String operationType, LocalDateTime bucketStart) {
+            boolean empty = count == 0;
+            return new CalculationStats(operationType, bucketStart, count, sum,
+                    empty ? null : min,
+                    empty ? null : max,
+                    empty ? null : sum / count,
+                    sketch != null ? sketch.quantile(0.50) : null,
+                    sketch != null ? sketch.quantile(0.95) : null,
+                    sketch != null ? sketch.quantile(0.99) : null);
+        }
+    }
+}
@@ -6,7 +6,9 @@ import org.springframework.cache.annotation.Cacheable;
 import org.springframework.validation.annotation.Validated;
 import javax.validation.Valid;
 import com.java.coreTemplate.repository.CalculatorRepository;
+import com.java.coreTemplate.model.dto.CalculationStats;
 import com.java.coreTemplate.model.dto.Calculator;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,9 +18,15 @@ import java.util.Optional;
 public class CalculatorService {
 
     private final CalculatorRepository repository;
+    private final CalculationHistoryWriter historyWriter;
+    private final CalculationStatistics statistics;
 
-    public CalculatorService(CalculatorRepository repository) {
+    public CalculatorService(CalculatorRepository repository,
+                             CalculationHistoryWriter historyWriter,
+                             CalculationStatistics statistics) {
         this.repository = repository;
+        this.historyWriter = historyWriter;
+        this.statistics = statistics;
     }
 
     @Transactional
@@ -44,7 +52,6 @@ public class CalculatorService {
         return repository.findByIsActiveTrue();
     }
 
-    @Cacheable("calculatorOperationsCache")
     public double performOperation(double operand1, double operand2, String operation) {
         return switch (operation.toLowerCase()) {
             case "add" -> operand1 + operand2;
@@ -58,9 +65,25 @@ public class CalculatorService {
         };
     }
 
-    @Transactional
+    /**
+     * Records the calculation in the history without waiting for the database. The row
+     * is written by {@link CalculationHistoryWriter}, so the returned entity has no id.
+     */
     public Calculator logCalculation(Calculator calculator) {
-        return repository.save(calculator);
+        if (historyWriter.append(calculator)) {
+            statistics.record(calculator);
+        }
+        return calculator;
+    }
+
+    public List<CalculationStats> getStatistics(CalculationStatistics.Granularity granularity,
+                                                LocalDateTime from, LocalDateTime to,
+                                                String operationType, boolean merge) {
+        return statistics.query(granularity, from, to, operationType, merge);
+    }
+
+    public List<CalculationStats> getTotals() {
+        return statistics.totals();
     }
 
     public List<Calculator> findByOperationType(String operationType) {
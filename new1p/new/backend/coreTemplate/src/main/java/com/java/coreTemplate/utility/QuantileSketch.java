@@ -0,0 +1,111 @@
+package com.java.coreTemplate.utility;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Mergeable quantile sketch with bounded relative error. Values are counted in
+ * logarithmically sized bins, so every quantile estimate is within
+ * {@code relativeAccuracy} of a true value and two sketches built with the same accuracy
+ * merge exactly by adding bin counts. Memory grows with the logarithm of the value
+ * range, not with the number of values.
+ * <p>
+ * Not thread-safe; callers synchronize.
+ */
+public final class QuantileSketch {
+
+    private static final double MIN_INDEXABLE_VALUE = 1e-9;
+
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+    private final Map<Integer, Long> positive = new HashMap<>();
+    private final Map<Integer, Long> negative = new HashMap<>();
+    private long zeroCount;
+    private long count;
+
+    public QuantileSketch(double relativeAccuracy) {
+        if (relativeAccuracy <= 0 || relativeAccuracy >= 1) {
+            throw new IllegalArgumentException("relativeAccuracy must be in (0, 1)");
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+    }
+
+    public void add(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return;
+        }
+        double magnitude = Math.abs(value);
+        if (magnitude < MIN_INDEXABLE_VALUE) {
+            zeroCount++;
+        } else {
+            (value > 0 ? positive : negative).merge(index(magnitude), 1L, Long::sum);
+        }
+        count++;
+    }
+
+    public void merge(QuantileSketch other) {
+        if (other.relativeAccuracy != relativeAccuracy) {
+            throw new IllegalArgumentException("Cannot merge sketches with different accuracy");
+        }
+        other.positive.forEach((bin, binCount) -> positive.merge(bin, binCount, Long::sum));
+        other.negative.forEach((bin, binCount) -> negative.merge(bin, binCount, Long::sum));
+        zeroCount += other.zeroCount;
+        count += other.count;
+    }
+
+    public QuantileSketch copy() {
+        QuantileSketch copy = new QuantileSketch(relativeAccuracy);
+        copy.merge(this);
+        return copy;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @param quantile between 0 and 1
+     * @return the estimated value at the quantile, or {@code null} if the sketch is empty
+     */
+    public Double quantile(double quantile) {
+        if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException("quantile must be in [0, 1]");
+        }
+        if (count == 0) {
+            return null;
+        }
+        long rank = (long) (quantile * (count - 1));
+        long seen = 0;
+        // Negative values come first, largest magnitude (highest bin) first
+        for (Map.Entry<Integer, Long> bin : new TreeMap<>(negative).descendingMap().entrySet()) {
+            seen += bin.getValue();
+            if (seen > rank) {
+                return -value(bin.getKey());
+            }
+        }
+        seen += zeroCount;
+        if (seen > rank) {
+            return 0.0;
+        }
+        for (Map.Entry<Integer, Long> bin : new TreeMap<>(positive).entrySet()) {
+            seen += bin.getValue();
+            if (seen > rank) {
+                return value(bin.getKey());
+            }
+        }
+        throw new IllegalStateException("Sketch bin counts do not add up to " + count);
+    }
+
+    private int index(double magnitude) {
+        return (int) Math.ceil(Math.log(magnitude) / logGamma);
+    }
+
+    private double value(int index) {
+        // Midpoint of the bin (gamma^(i-1), gamma^i] in relative terms
+        return 2 * Math.pow(gamma, index) / (gamma + 1);
+    }
+}
@@ -0,0 +1,103 @@
+package com.java.coreTemplate.utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class QuantileSketchTest {
+
+    private static final double ACCURACY = 0.01;
+    private static final double[] QUANTILES = {0, 0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99, 1};
+
+    @Test
+    void mergedSketchesAnswerLikeOneSketchOfAllValues() {
+        double[] values = values(10_000, 7);
+        QuantileSketch whole = new QuantileSketch(ACCURACY);
+        QuantileSketch[] parts = {new QuantileSketch(ACCURACY), new QuantileSketch(ACCURACY), new QuantileSketch(ACCURACY)};
+        for (int i = 0; i < values.length; i++) {
+            whole.add(values[i]);
+            parts[i % parts.length].add(values[i]);
+        }
+
+        QuantileSketch merged = new QuantileSketch(ACCURACY);
+        for (QuantileSketch part : parts) {
+            merged.merge(part);
+        }
+
+        assertThat(merged.getCount()).isEqualTo(whole.getCount());
+        for (double quantile : QUANTILES) {
+            assertThat(merged.quantile(quantile)).as("q%s", quantile).isEqualTo(whole.quantile(quantile));
+        }
+    }
+
+    @Test
+    void estimatesStayWithinTheRelativeAccuracy() {
+        double[] values = values(5_000, 11);
+        QuantileSketch sketch = new QuantileSketch(ACCURACY);
+        for (double value : values) {
+            sketch.add(value);
+        }
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+
+        for (double quantile : QUANTILES) {
+            double exact = sorted[(int) (quantile * (sorted.length - 1))];
+            assertThat(sketch.quantile(quantile)).as("q%s", quantile)
+                    .isCloseTo(exact, within(Math.abs(exact) * ACCURACY + 1e-9));
+        }
+    }
+
+    @Test
+    void mergeLeavesTheOtherSketchAndCopiesUnchanged() {
+        QuantileSketch first = new QuantileSketch(ACCURACY);
+        QuantileSketch second = new QuantileSketch(ACCURACY);
+        first.add(1);
+        second.add(100);
+        second.add(-5);
+        second.add(0);
+        QuantileSketch snapshot = first.copy();
+
+        first.merge(second);
+
+        assertThat(first.getCount()).isEqualTo(4);
+        assertThat(first.quantile(0)).isCloseTo(-5, within(5 * ACCURACY));
+        assertThat(first.quantile(1)).isCloseTo(100, within(100 * ACCURACY));
+        assertThat(second.getCount()).isEqualTo(3);
+        assertThat(snapshot.getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void refusesToMergeDifferentAccuracies() {
+        QuantileSketch sketch = new QuantileSketch(ACCURACY);
+
+        assertThatThrownBy(() -> sketch.merge(new QuantileSketch(0.02)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void ignoresNonFiniteValuesAndReportsEmptyAsNull() {
+        QuantileSketch sketch = new QuantileSketch(ACCURACY);
+        sketch.add(Double.NaN);
+        sketch.add(Double.POSITIVE_INFINITY);
+        sketch.add(Double.NEGATIVE_INFINITY);
+
+        assertThat(sketch.getCount()).isZero();
+        assertThat(sketch.quantile(0.5)).isNull();
+    }
+
+    // Magnitudes over several orders, about a fifth negative and some exact zeros
+    private static double[] values(int count, long seed) {
+        Random random = new Random(seed);
+        double[] values = new double[count];
+        for (int i = 0; i < count; i++) {
+            double magnitude = Math.exp(random.nextGaussian() * 4);
+            values[i] = i % 50 == 0 ? 0 : random.nextInt(5) == 0 ? -magnitude : magnitude;
+        }
+        return values;
+    }
+}